@@ -0,0 +1,41 @@
+package com.mjr.discordframework.benchmarks;
+
+import discord4j.core.ServiceMediator;
+import discord4j.core.object.data.stored.MemberBean;
+import discord4j.core.object.data.stored.MessageBean;
+import discord4j.core.object.data.stored.UserBean;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.Message;
+
+/**
+ * Builds Discord4J entities straight from their data beans on a service mediator with no gateway, REST or store behind it, for benchmarks that only read the entity data
+ */
+public class BenchmarkEntities {
+	private static final ServiceMediator SERVICE_MEDIATOR = new ServiceMediator(null, null, null, null, null, null, null);
+
+	public static final long GUILD_ID = 100000000000000000L;
+	public static final long CHANNEL_ID = 200000000000000000L;
+	public static final long FIRST_MESSAGE_ID = 300000000000000000L;
+	public static final long FIRST_USER_ID = 400000000000000000L;
+
+	public static Message createMessage(long messageID) {
+		MessageBean bean = new MessageBean();
+		bean.setId(messageID);
+		bean.setChannelId(CHANNEL_ID);
+		bean.setContent("benchmark");
+		bean.setMentions(new long[0]);
+		bean.setMentionRoles(new long[0]);
+		return new Message(SERVICE_MEDIATOR, bean);
+	}
+
+	public static Member createMember(long userID, String username, String nickname, boolean bot) {
+		UserBean user = new UserBean();
+		user.setId(userID);
+		user.setUsername(username);
+		user.setBot(bot);
+		MemberBean member = new MemberBean();
+		member.setNick(nickname);
+		member.setRoles(new long[0]);
+		return new Member(SERVICE_MEDIATOR, member, user, GUILD_ID);
+	}
+}
@@ -0,0 +1,70 @@
+package com.mjr.discordframework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mjr.discordframework.cache.DiscordDisplayNameCache;
+import com.mjr.discordframework.util.DiscordNameSanitizer;
+
+import discord4j.core.object.entity.Member;
+
+/**
+ * Throughput of stripping emotes and symbols from display names, the regex benchmark is the replaceAll the utilities used before the lookup table sanitizer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisplayNameBenchmark {
+	@Param({ "plain", "emotes", "long" })
+	public String name;
+
+	private Member member;
+	private DiscordDisplayNameCache cache;
+
+	@Setup
+	public void setup() {
+		String nickname;
+		if (name.equals("plain"))
+			nickname = "Some_User123";
+		else if (name.equals("emotes"))
+			nickname = "🔥 Some User ✨ [Mod]";
+		else
+			nickname = "🎉 A Much Longer Display Name - With Symbols, Spaces & Émötes 🚀🚀";
+		member = BenchmarkEntities.createMember(BenchmarkEntities.FIRST_USER_ID, "user", nickname, false);
+		cache = new DiscordDisplayNameCache(DiscordDisplayNameCache.DEFAULT_MAX_SIZE);
+	}
+
+	@Benchmark
+	public String regex() {
+		return member.getDisplayName().replaceAll("[^a-zA-Z0-9_]", "");
+	}
+
+	@Benchmark
+	public String sanitizeAscii() {
+		return DiscordNameSanitizer.sanitizeAscii(member.getDisplayName());
+	}
+
+	@Benchmark
+	public String sanitizeUnicode() {
+		return DiscordNameSanitizer.sanitizeUnicode(member.getDisplayName());
+	}
+
+	@Benchmark
+	public String memoized() {
+		return cache.getDisplayNameWithoutEmotes(member);
+	}
+}
@@ -0,0 +1,80 @@
+package com.mjr.discordframework.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.DiscordListenerManager;
+import com.mjr.discordframework.events.DiscordDebugOutputEvent;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Dispatch cost of the debug and message error hooks with a growing amount of global listeners, 0 listeners measures the short circuit when nothing is listening
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventHooksBenchmark {
+	@Param({ "0", "1", "10", "50" })
+	public int listeners;
+
+	private final List<DiscordDebugOutputEvent> registered = new ArrayList<DiscordDebugOutputEvent>();
+	private Blackhole blackhole;
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		this.blackhole = blackhole;
+		for (int i = 0; i < listeners; i++) {
+			DiscordDebugOutputEvent listener = new DiscordDebugOutputEvent() {
+				@Override
+				public void onEvent(DiscordDebugOutputEvent event) {
+					EventHooksBenchmark.this.blackhole.consume(event.getMessage());
+				}
+			};
+			registered.add(listener);
+			DiscordListenerManager.registerEventHandler(listener);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (DiscordDebugOutputEvent listener : registered)
+			DiscordListenerManager.unregisterEventHandler(listener);
+		registered.clear();
+	}
+
+	@Benchmark
+	public void triggerMessageEvent() {
+		DiscordEventHooks.triggerMessageEvent(null, DiscordBotBase.DiscordMessageType.Info, "benchmark");
+	}
+
+	@Benchmark
+	public void triggerMessageEventSupplier() {
+		DiscordEventHooks.triggerMessageEvent(null, DiscordBotBase.DiscordMessageType.Info, () -> "benchmark " + listeners);
+	}
+
+	@Benchmark
+	public void triggerMessageErrorEvent() {
+		DiscordEventHooks.triggerMessageErrorEvent(null, "benchmark", HttpResponseStatus.TOO_MANY_REQUESTS);
+	}
+}
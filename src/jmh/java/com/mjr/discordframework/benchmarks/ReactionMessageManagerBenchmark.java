@@ -0,0 +1,81 @@
+package com.mjr.discordframework.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mjr.discordframework.reactionMessage.DiscordReactionMessageManager;
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
+
+import discord4j.core.object.entity.Message;
+
+/**
+ * Lookup and remove cost of the reaction message manager as the amount of registered messages grows
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactionMessageManagerBenchmark {
+	@Param({ "10", "1000", "100000" })
+	public int entries;
+
+	private DiscordReactionMessageManager manager;
+	private Message[] messages;
+	private ReactionMessage reactionMessage;
+	private int index;
+
+	@Setup
+	public void setup() {
+		manager = new DiscordReactionMessageManager();
+		messages = new Message[entries];
+		List<String> reactions = new ArrayList<String>();
+		reactions.add("✅");
+		reactionMessage = new ReactionMessage("benchmark", reactions, new ArrayList<String>());
+		for (int i = 0; i < entries; i++) {
+			messages[i] = BenchmarkEntities.createMessage(BenchmarkEntities.FIRST_MESSAGE_ID + i);
+			manager.addReactionMessage(messages[i], reactionMessage);
+		}
+	}
+
+	private int nextIndex() {
+		int current = index;
+		index = current + 1 == entries ? 0 : current + 1;
+		return current;
+	}
+
+	@Benchmark
+	public Object lookupHit() {
+		return manager.getRegisteredReactionMessageBase(BenchmarkEntities.FIRST_MESSAGE_ID + nextIndex());
+	}
+
+	@Benchmark
+	public Object lookupMiss() {
+		return manager.getRegisteredReactionMessageBase(BenchmarkEntities.FIRST_MESSAGE_ID - 1 - nextIndex());
+	}
+
+	/**
+	 * Removes a message and registers it again so the size stays the same between invocations
+	 */
+	@Benchmark
+	public int removeAndAdd() {
+		Message message = messages[nextIndex()];
+		manager.removeEmbeddedMessage(message.getId().asLong());
+		manager.addReactionMessage(message, reactionMessage);
+		return manager.size();
+	}
+}
@@ -0,0 +1,80 @@
+package com.mjr.discordframework.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mjr.discordframework.reactionMessage.DiscordReactionMessageManager;
+import com.mjr.discordframework.reactionMessage.handlers.ReactionMessageEventHandler;
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
+
+import discord4j.core.event.domain.message.ReactionAddEvent;
+import discord4j.core.event.domain.message.ReactionRemoveEvent;
+import discord4j.core.object.reaction.ReactionEmoji;
+
+/**
+ * Routing cost of the reaction handlers for events that never reach the REST API: reactions on unregistered messages, reactions from bots and removals of reactions the message
+ * does not respond to. Events are built without a client
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactionRoutingBenchmark {
+	@Param({ "1000", "100000" })
+	public int entries;
+
+	private DiscordReactionMessageManager manager;
+	private ReactionAddEvent unregisteredAdd;
+	private ReactionAddEvent botAdd;
+	private ReactionRemoveEvent otherReactionRemove;
+
+	@Setup
+	public void setup() {
+		manager = new DiscordReactionMessageManager();
+		List<String> reactions = new ArrayList<String>();
+		reactions.add("✅");
+		reactions.add("❌");
+		for (int i = 0; i < entries; i++)
+			manager.addReactionMessage(BenchmarkEntities.createMessage(BenchmarkEntities.FIRST_MESSAGE_ID + i), new ReactionMessage("benchmark", reactions, new ArrayList<String>()));
+
+		long registeredMessage = BenchmarkEntities.FIRST_MESSAGE_ID + entries / 2;
+		long botUser = BenchmarkEntities.FIRST_USER_ID;
+		long user = BenchmarkEntities.FIRST_USER_ID + 1;
+		manager.setCachedBotUserFlag(user, false);
+
+		unregisteredAdd = new ReactionAddEvent(null, user, BenchmarkEntities.CHANNEL_ID, BenchmarkEntities.FIRST_MESSAGE_ID - 1, BenchmarkEntities.GUILD_ID, ReactionEmoji.unicode("✅"), null);
+		botAdd = new ReactionAddEvent(null, botUser, BenchmarkEntities.CHANNEL_ID, registeredMessage, BenchmarkEntities.GUILD_ID, ReactionEmoji.unicode("✅"),
+				BenchmarkEntities.createMember(botUser, "bot", null, true));
+		otherReactionRemove = new ReactionRemoveEvent(null, user, BenchmarkEntities.CHANNEL_ID, registeredMessage, BenchmarkEntities.GUILD_ID, ReactionEmoji.unicode("👍"));
+	}
+
+	@Benchmark
+	public Object unregisteredMessage() {
+		return ReactionMessageEventHandler.onMessageReactionAddReceivedEvent(unregisteredAdd, manager).block();
+	}
+
+	@Benchmark
+	public Object botReaction() {
+		return ReactionMessageEventHandler.onMessageReactionAddReceivedEvent(botAdd, manager).block();
+	}
+
+	@Benchmark
+	public Object otherReactionRemoved() {
+		return ReactionMessageEventHandler.onMessageReactionRemoveReceivedEvent(otherReactionRemove, manager).block();
+	}
+}
@@ -0,0 +1,301 @@
+package com.mjr.discordframework.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordListenerManager;
+import com.mjr.discordframework.events.DiscordDebugOutputEvent;
+import com.mjr.discordframework.helperManagers.DiscordDeleteMessageManager;
+import com.mjr.discordframework.helperManagers.DiscordSendMessageManager;
+import com.mjr.discordframework.metrics.DiscordLatencyHistogram;
+import com.mjr.discordframework.reactionMessage.DiscordReactionMsgSendManager;
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.domain.message.ReactionAddEvent;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Drives a bot against the REST stand in and scripted gateway at fixed rates and reports the throughput and latency of sends, deletes and reaction handling.
+ *
+ * Options are given as key=value arguments, see {@link Options} for the names and defaults. For example: duration=30 sendRate=100 deleteRate=100 reactionRate=200 latency=20
+ */
+public class DiscordLoadHarness {
+	private static final long GUILD_ID = 100000000000000000L;
+	private static final long SELF_ID = 200000000000000000L;
+	private static final long FIRST_CHANNEL_ID = 300000000000000000L;
+	private static final String REACTION = "✅";
+
+	private final Options options;
+	private final DiscordRestStandIn standIn;
+	private final ScriptedGatewayClient gateway = new ScriptedGatewayClient(SELF_ID);
+	private final Queue<Message> sentMessages = new ConcurrentLinkedQueue<Message>();
+	private final NonBlockingHashMapLong<Long> pendingReactions = new NonBlockingHashMapLong<Long>();
+	private final AtomicLong nextUserID = new AtomicLong(SELF_ID + 1);
+	private final OperationStats sends = new OperationStats("send");
+	private final OperationStats deletes = new OperationStats("delete");
+	private final OperationStats reactions = new OperationStats("reaction");
+	private DiscordBotBase bot;
+
+	public DiscordLoadHarness(Options options) {
+		super();
+		this.options = options;
+		this.standIn = new DiscordRestStandIn(GUILD_ID, SELF_ID, options.bucketLimit, options.bucketWindowMillis);
+	}
+
+	public static void main(String[] args) throws Exception {
+		Options options = Options.parse(args);
+		System.out.println("Load test options: " + options);
+		DiscordListenerManager.registerEventHandler(new DiscordDebugOutputEvent() {
+			@Override
+			public void onEvent(DiscordDebugOutputEvent event) {
+				if (event.getMessageType() == DiscordBotBase.DiscordMessageType.Error)
+					System.err.println(event.getMessage());
+			}
+		});
+		int status = 0;
+		try {
+			new DiscordLoadHarness(options).run();
+		} catch (Exception e) {
+			e.printStackTrace();
+			status = 1;
+		}
+		System.exit(status);
+	}
+
+	public void run() throws Exception {
+		standIn.start(options.serverThreads);
+		standIn.setLatencyMillis(options.latencyMillis);
+		standIn.setInjectedRateLimitChance(options.injectedRateLimitChance);
+		for (int i = 0; i < options.channels; i++)
+			standIn.addChannel(FIRST_CHANNEL_ID + i);
+
+		String token = "stand-in-token";
+		bot = new DiscordBotBase(new DiscordBotCoordinator(), token, builder -> builder.setRouterFactory(DiscordStandInWebClient.createRouterFactory(token, standIn.getBaseUrl()))
+				.setGatewayClientFactory(ScriptedGatewayClient.createFactory(gateway)), 1, 0) {
+		};
+		bot.getReadiness().block(Duration.ofSeconds(30));
+		DiscordClient client = bot.getClient();
+
+		List<Message> reactionMessages = new ArrayList<Message>();
+		for (int i = 0; i < options.reactionMessages; i++) {
+			List<String> reactionList = new ArrayList<String>();
+			reactionList.add(REACTION);
+			Message message = DiscordReactionMsgSendManager.sendReactionMessage(client, bot, new TrackedReactionMessage(reactionList, this::onReactionHandled),
+					client.getChannelById(Snowflake.of(getChannelID(i))));
+			if (message == null)
+				throw new IllegalStateException("Unable to create the reaction messages on the stand in");
+			reactionMessages.add(message);
+		}
+		bot.getMetrics().reset();
+
+		Scheduler driverScheduler = Schedulers.newParallel("load-test-driver", 3, true);
+		List<Disposable> drivers = new ArrayList<Disposable>();
+		AtomicLong sendCount = new AtomicLong();
+		drivers.add(drive(options.sendRate, driverScheduler, tick -> send(client, getChannelID((int) (sendCount.getAndIncrement() % options.channels)))));
+		drivers.add(drive(options.deleteRate, driverScheduler, tick -> delete(client)));
+		drivers.add(drive(options.reactionRate, driverScheduler, tick -> react(reactionMessages.get((int) (tick % reactionMessages.size())))));
+
+		long start = System.nanoTime();
+		TimeUnit.SECONDS.sleep(options.durationSeconds);
+		for (Disposable driver : drivers)
+			driver.dispose();
+		long elapsed = System.nanoTime() - start;
+		long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.drainSeconds);
+		while (System.nanoTime() < drainUntil && (sends.getInFlight() > 0 || deletes.getInFlight() > 0 || reactions.getInFlight() > 0))
+			TimeUnit.MILLISECONDS.sleep(50);
+		driverScheduler.dispose();
+
+		report(elapsed);
+		bot.shutdown().block(Duration.ofSeconds(5));
+		standIn.stop();
+	}
+
+	private Disposable drive(int rate, Scheduler scheduler, LongConsumer operation) {
+		if (rate <= 0)
+			return Flux.never().subscribe();
+		return Flux.interval(Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) / rate), scheduler).onBackpressureDrop().subscribe(operation::accept);
+	}
+
+	private void send(DiscordClient client, long channelID) {
+		long start = sends.onIssued();
+		DiscordSendMessageManager.sendMessageAsync(client, Snowflake.of(channelID), "Load test message " + start).subscribe(message -> {
+			sends.onCompleted(start);
+			sentMessages.add(message);
+		}, error -> sends.onFailed());
+	}
+
+	private void delete(DiscordClient client) {
+		Message message = sentMessages.poll();
+		if (message == null) {
+			deletes.onSkipped();
+			return;
+		}
+		long start = deletes.onIssued();
+		DiscordDeleteMessageManager.deleteMessageAsync(client, bot, message.getChannelId(), message.getId(), "Load test").subscribe(ignored -> {
+		}, error -> deletes.onFailed(), () -> deletes.onCompleted(start));
+	}
+
+	/**
+	 * Emits a reaction from a new user so the handler always tracks and removes it, the latency is taken from the gateway dispatch to the reaction message's add callback
+	 *
+	 * @param message
+	 */
+	private void react(Message message) {
+		long userID = nextUserID.getAndIncrement();
+		pendingReactions.put(userID, Long.valueOf(reactions.onIssued()));
+		gateway.emitReactionAdd(userID, message.getChannelId().asLong(), message.getId().asLong(), GUILD_ID, REACTION);
+	}
+
+	private void onReactionHandled(ReactionAddEvent event) {
+		Long start = pendingReactions.remove(event.getUserId().asLong());
+		if (start != null)
+			reactions.onCompleted(start);
+	}
+
+	private static long getChannelID(int index) {
+		return FIRST_CHANNEL_ID + index;
+	}
+
+	private void report(long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		System.out.println();
+		System.out.println(String.format("Ran for %.1fs", seconds));
+		System.out.println(String.format("%-10s %10s %10s %8s %8s %10s %10s %10s %10s %10s", "operation", "issued", "completed", "failed", "skipped", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		for (OperationStats stats : new OperationStats[] { sends, deletes, reactions })
+			System.out.println(stats.format(seconds));
+		System.out.println();
+		System.out.println("Stand in rate limited " + standIn.getRateLimitedCount() + " requests, injected " + standIn.getInjectedRateLimitCount() + " 429s");
+		for (Map.Entry<String, Long> entry : standIn.getRequestCounts().entrySet())
+			System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+		System.out.println("Event worker lag p99 " + bot.getMetrics().getHandlerLag().getValueAtPercentile(99) / 1000.0 + "ms");
+		System.out.println("Bot metrics: " + bot.getMetrics().snapshot());
+	}
+
+	/**
+	 * Reaction message that tells the harness when its add callback runs
+	 */
+	private static class TrackedReactionMessage extends ReactionMessage {
+		private final Consumer<ReactionAddEvent> onAdd;
+
+		private TrackedReactionMessage(List<String> reactions, Consumer<ReactionAddEvent> onAdd) {
+			super("Load test reaction message", reactions, new ArrayList<String>());
+			this.onAdd = onAdd;
+		}
+
+		@Override
+		public void onAddReaction(ReactionAddEvent event) {
+			onAdd.accept(event);
+		}
+	}
+
+	private static class OperationStats {
+		private final String name;
+		private final DiscordLatencyHistogram latency = new DiscordLatencyHistogram();
+		private final LongAdder issued = new LongAdder();
+		private final LongAdder completed = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private final LongAdder skipped = new LongAdder();
+
+		private OperationStats(String name) {
+			this.name = name;
+		}
+
+		private long onIssued() {
+			issued.increment();
+			return System.nanoTime();
+		}
+
+		private void onCompleted(long start) {
+			latency.recordNanos(System.nanoTime() - start);
+			completed.increment();
+		}
+
+		private void onFailed() {
+			failed.increment();
+		}
+
+		private void onSkipped() {
+			skipped.increment();
+		}
+
+		private long getInFlight() {
+			return issued.sum() - completed.sum() - failed.sum();
+		}
+
+		private String format(double seconds) {
+			return String.format("%-10s %10d %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f", name, issued.sum(), completed.sum(), failed.sum(), skipped.sum(), completed.sum() / seconds,
+					latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0, latency.getValueAtPercentile(99.9) / 1000.0, latency.getMaxMicros() / 1000.0);
+		}
+	}
+
+	/**
+	 * Load test settings, rates are operations per second and 0 turns an operation off
+	 */
+	public static class Options {
+		private int durationSeconds = 30;
+		private int drainSeconds = 10;
+		private int channels = 10;
+		private int sendRate = 50;
+		private int deleteRate = 50;
+		private int reactionRate = 100;
+		private int reactionMessages = 10;
+		private int bucketLimit = 5;
+		private long bucketWindowMillis = 5000;
+		private long latencyMillis = 0;
+		private double injectedRateLimitChance = 0;
+		private int serverThreads = 16;
+
+		public static Options parse(String[] args) {
+			Map<String, String> values = new HashMap<String, String>();
+			for (String arg : args) {
+				int split = arg.indexOf('=');
+				if (split <= 0)
+					throw new IllegalArgumentException("Expected key=value but got " + arg);
+				values.put(arg.substring(0, split), arg.substring(split + 1));
+			}
+			Options options = new Options();
+			options.durationSeconds = Integer.parseInt(values.getOrDefault("duration", String.valueOf(options.durationSeconds)));
+			options.drainSeconds = Integer.parseInt(values.getOrDefault("drain", String.valueOf(options.drainSeconds)));
+			options.channels = Integer.parseInt(values.getOrDefault("channels", String.valueOf(options.channels)));
+			options.sendRate = Integer.parseInt(values.getOrDefault("sendRate", String.valueOf(options.sendRate)));
+			options.deleteRate = Integer.parseInt(values.getOrDefault("deleteRate", String.valueOf(options.deleteRate)));
+			options.reactionRate = Integer.parseInt(values.getOrDefault("reactionRate", String.valueOf(options.reactionRate)));
+			options.reactionMessages = Integer.parseInt(values.getOrDefault("reactionMessages", String.valueOf(options.reactionMessages)));
+			options.bucketLimit = Integer.parseInt(values.getOrDefault("bucketLimit", String.valueOf(options.bucketLimit)));
+			options.bucketWindowMillis = Long.parseLong(values.getOrDefault("bucketWindow", String.valueOf(options.bucketWindowMillis)));
+			options.latencyMillis = Long.parseLong(values.getOrDefault("latency", String.valueOf(options.latencyMillis)));
+			options.injectedRateLimitChance = Double.parseDouble(values.getOrDefault("injected429", String.valueOf(options.injectedRateLimitChance)));
+			options.serverThreads = Integer.parseInt(values.getOrDefault("serverThreads", String.valueOf(options.serverThreads)));
+			if (options.channels < 1 || options.reactionMessages < 1)
+				throw new IllegalArgumentException("channels and reactionMessages must be at least 1");
+			return options;
+		}
+
+		@Override
+		public String toString() {
+			return "duration=" + durationSeconds + " drain=" + drainSeconds + " channels=" + channels + " sendRate=" + sendRate + " deleteRate=" + deleteRate + " reactionRate=" + reactionRate
+					+ " reactionMessages=" + reactionMessages + " bucketLimit=" + bucketLimit + " bucketWindow=" + bucketWindowMillis + " latency=" + latencyMillis + " injected429="
+					+ injectedRateLimitChance + " serverThreads=" + serverThreads;
+		}
+	}
+}
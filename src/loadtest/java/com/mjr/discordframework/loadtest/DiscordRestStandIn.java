@@ -0,0 +1,470 @@
+package com.mjr.discordframework.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Embedded HTTP server that mimics the Discord REST routes the framework uses: channels, message create/get/edit/delete, message history, bulk delete and reactions. Every route
+ * bucket is rate limited the way Discord does it, with the X-RateLimit headers on every response and 429s with Retry-After once a bucket is empty. Latency and random 429s can be
+ * injected to see how the framework behaves under a slow or unhappy API
+ */
+public class DiscordRestStandIn {
+	public static final String API_PATH = "/api/v6";
+
+	private static final Pattern CHANNEL = Pattern.compile("/channels/(\\d+)");
+	private static final Pattern MESSAGES = Pattern.compile("/channels/(\\d+)/messages");
+	private static final Pattern MESSAGE = Pattern.compile("/channels/(\\d+)/messages/(\\d+)");
+	private static final Pattern BULK_DELETE = Pattern.compile("/channels/(\\d+)/messages/bulk-delete");
+	private static final Pattern OWN_REACTION = Pattern.compile("/channels/(\\d+)/messages/(\\d+)/reactions/([^/]+)/@me");
+	private static final Pattern USER_REACTION = Pattern.compile("/channels/(\\d+)/messages/(\\d+)/reactions/([^/]+)/(\\d+)");
+	private static final long DISCORD_EPOCH = 1420070400000L;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final long guildID;
+	private final long selfID;
+	private final int bucketLimit;
+	private final long bucketWindowMillis;
+	private final AtomicLong lastSnowflake = new AtomicLong();
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<String, Bucket>();
+	private final Map<Long, Map<Long, Map<String, Object>>> channels = new ConcurrentHashMap<Long, Map<Long, Map<String, Object>>>();
+	private final Map<String, LongAdder> requestCounts = new ConcurrentSkipListMap<String, LongAdder>();
+	private final LongAdder rateLimitedCount = new LongAdder();
+	private final LongAdder injectedRateLimitCount = new LongAdder();
+	private volatile long latencyMillis;
+	private volatile double injectedRateLimitChance;
+	private HttpServer server;
+	private ExecutorService executor;
+
+	/**
+	 * @param guildID the guild every channel belongs to
+	 * @param selfID the user id of the bot, used as the author of created messages
+	 * @param bucketLimit requests allowed per bucket per window
+	 * @param bucketWindowMillis
+	 */
+	public DiscordRestStandIn(long guildID, long selfID, int bucketLimit, long bucketWindowMillis) {
+		super();
+		this.guildID = guildID;
+		this.selfID = selfID;
+		this.bucketLimit = bucketLimit;
+		this.bucketWindowMillis = bucketWindowMillis;
+	}
+
+	/**
+	 * Starts the server on a free local port
+	 *
+	 * @param threads how many requests are handled at once
+	 * @throws IOException
+	 */
+	public void start(int threads) throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		executor = Executors.newFixedThreadPool(threads, new DefaultThreadFactory("discord-rest-stand-in", true));
+		server.setExecutor(executor);
+		server.createContext(API_PATH, this::handle);
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Gets the url the REST routes are served on, without a trailing slash
+	 *
+	 * @return
+	 */
+	public String getBaseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + API_PATH;
+	}
+
+	/**
+	 * Adds a text channel, messages can only be created in known channels
+	 *
+	 * @param channelID
+	 */
+	public void addChannel(long channelID) {
+		channels.putIfAbsent(channelID, new ConcurrentSkipListMap<Long, Map<String, Object>>());
+	}
+
+	/**
+	 * Sets how long every request waits before it is answered
+	 *
+	 * @param latencyMillis
+	 */
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	/**
+	 * Sets the chance of a request getting a 429 even though its bucket has requests left
+	 *
+	 * @param injectedRateLimitChance between 0 and 1
+	 */
+	public void setInjectedRateLimitChance(double injectedRateLimitChance) {
+		this.injectedRateLimitChance = injectedRateLimitChance;
+	}
+
+	/**
+	 * Gets how many requests each route received, keyed by method and route
+	 *
+	 * @return
+	 */
+	public Map<String, Long> getRequestCounts() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (Map.Entry<String, LongAdder> entry : requestCounts.entrySet())
+			counts.put(entry.getKey(), entry.getValue().sum());
+		return counts;
+	}
+
+	public long getRateLimitedCount() {
+		return rateLimitedCount.sum();
+	}
+
+	public long getInjectedRateLimitCount() {
+		return injectedRateLimitCount.sum();
+	}
+
+	/**
+	 * Gets the amount of messages currently stored in a channel
+	 *
+	 * @param channelID
+	 * @return
+	 */
+	public int getMessageCount(long channelID) {
+		Map<Long, Map<String, Object>> messages = channels.get(channelID);
+		return messages == null ? 0 : messages.size();
+	}
+
+	/**
+	 * Creates a snowflake for the current time, unique for this stand in
+	 *
+	 * @return
+	 */
+	public long nextSnowflake() {
+		long candidate = (System.currentTimeMillis() - DISCORD_EPOCH) << 22;
+		while (true) {
+			long last = lastSnowflake.get();
+			long next = Math.max(candidate, last + 1);
+			if (lastSnowflake.compareAndSet(last, next))
+				return next;
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath().substring(API_PATH.length());
+			if (latencyMillis > 0)
+				TimeUnit.MILLISECONDS.sleep(latencyMillis);
+			Route route = route(method, path);
+			requestCounts.computeIfAbsent(method + " " + route.name, key -> new LongAdder()).increment();
+			if (route.bucket != null && !checkRateLimit(exchange, route.bucket))
+				return;
+			route.handler.handle(exchange, route.matcher);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			exchange.close();
+		} catch (Exception e) {
+			sendError(exchange, 500, 0, "Stand in error: " + e.getMessage());
+		}
+	}
+
+	private Route route(String method, String path) {
+		Matcher matcher;
+		if (method.equals("GET") && (path.equals("/gateway") || path.equals("/gateway/bot")))
+			return new Route("/gateway", null, null, (exchange, ignored) -> sendJson(exchange, 200, Collections.singletonMap("url", "ws://127.0.0.1/stand-in")));
+		if ((matcher = BULK_DELETE.matcher(path)).matches() && method.equals("POST"))
+			return new Route("/channels/{channel}/messages/bulk-delete", "bulk-delete:" + matcher.group(1), matcher, this::bulkDelete);
+		if ((matcher = OWN_REACTION.matcher(path)).matches() && method.equals("PUT"))
+			return new Route("/channels/{channel}/messages/{message}/reactions/{emoji}/@me", "reaction:" + matcher.group(1), matcher, this::noContent);
+		if ((matcher = USER_REACTION.matcher(path)).matches() && method.equals("DELETE"))
+			return new Route("/channels/{channel}/messages/{message}/reactions/{emoji}/{user}", "reaction:" + matcher.group(1), matcher, this::noContent);
+		if ((matcher = MESSAGE.matcher(path)).matches()) {
+			if (method.equals("GET"))
+				return new Route("/channels/{channel}/messages/{message}", "message:" + matcher.group(1), matcher, this::getMessage);
+			if (method.equals("PATCH"))
+				return new Route("/channels/{channel}/messages/{message}", "message-edit:" + matcher.group(1), matcher, this::editMessage);
+			if (method.equals("DELETE"))
+				return new Route("/channels/{channel}/messages/{message}", "message-delete:" + matcher.group(1), matcher, this::deleteMessage);
+		}
+		if ((matcher = MESSAGES.matcher(path)).matches()) {
+			if (method.equals("POST"))
+				return new Route("/channels/{channel}/messages", "message-create:" + matcher.group(1), matcher, this::createMessage);
+			if (method.equals("GET"))
+				return new Route("/channels/{channel}/messages", "messages:" + matcher.group(1), matcher, this::getMessages);
+		}
+		if ((matcher = CHANNEL.matcher(path)).matches() && method.equals("GET"))
+			return new Route("/channels/{channel}", "channel:" + matcher.group(1), matcher, this::getChannel);
+		return new Route("unknown " + path, null, null, (exchange, ignored) -> sendError(exchange, 404, 0, "404: Not Found"));
+	}
+
+	/**
+	 * Takes a request from the route's bucket, answering with a 429 when the bucket is empty
+	 *
+	 * @param exchange
+	 * @param bucketKey
+	 * @return false if the request was rate limited
+	 * @throws IOException
+	 */
+	private boolean checkRateLimit(HttpExchange exchange, String bucketKey) throws IOException {
+		Bucket bucket = buckets.computeIfAbsent(bucketKey, key -> new Bucket());
+		long now = System.currentTimeMillis();
+		long remaining;
+		long resetAt;
+		synchronized (bucket) {
+			if (now >= bucket.resetAt) {
+				bucket.remaining = bucketLimit;
+				bucket.resetAt = now + bucketWindowMillis;
+			}
+			remaining = bucket.remaining;
+			resetAt = bucket.resetAt;
+			if (remaining > 0)
+				bucket.remaining = --remaining;
+			else
+				remaining = -1;
+		}
+		boolean injected = remaining >= 0 && injectedRateLimitChance > 0 && ThreadLocalRandom.current().nextDouble() < injectedRateLimitChance;
+		exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(bucketLimit));
+		exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+		exchange.getResponseHeaders().set("X-RateLimit-Reset", String.format("%.3f", resetAt / 1000.0));
+		exchange.getResponseHeaders().set("X-RateLimit-Reset-After", String.format("%.3f", (resetAt - now) / 1000.0));
+		exchange.getResponseHeaders().set("X-RateLimit-Bucket", bucketKey);
+		if (remaining >= 0 && !injected)
+			return true;
+		long retryAfter = injected ? 50 : Math.max(1, resetAt - now);
+		if (injected)
+			injectedRateLimitCount.increment();
+		else
+			rateLimitedCount.increment();
+		exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfter));
+		Map<String, Object> body = new LinkedHashMap<String, Object>();
+		body.put("message", "You are being rate limited.");
+		body.put("retry_after", retryAfter);
+		body.put("global", false);
+		sendJson(exchange, 429, body);
+		return false;
+	}
+
+	private void getChannel(HttpExchange exchange, Matcher matcher) throws IOException {
+		long channelID = Long.parseLong(matcher.group(1));
+		if (!channels.containsKey(channelID)) {
+			sendError(exchange, 404, 10003, "Unknown Channel");
+			return;
+		}
+		Map<String, Object> channel = new LinkedHashMap<String, Object>();
+		channel.put("id", String.valueOf(channelID));
+		channel.put("type", 0);
+		channel.put("guild_id", String.valueOf(guildID));
+		channel.put("position", 0);
+		channel.put("permission_overwrites", new ArrayList<Object>());
+		channel.put("name", "stand-in-" + channelID);
+		channel.put("nsfw", false);
+		channel.put("rate_limit_per_user", 0);
+		sendJson(exchange, 200, channel);
+	}
+
+	private void createMessage(HttpExchange exchange, Matcher matcher) throws IOException {
+		long channelID = Long.parseLong(matcher.group(1));
+		Map<Long, Map<String, Object>> messages = channels.get(channelID);
+		if (messages == null) {
+			sendError(exchange, 404, 10003, "Unknown Channel");
+			return;
+		}
+		JsonNode request = mapper.readTree(readBody(exchange));
+		long messageID = nextSnowflake();
+		Map<String, Object> message = new LinkedHashMap<String, Object>();
+		message.put("id", String.valueOf(messageID));
+		message.put("channel_id", String.valueOf(channelID));
+		message.put("author", createUser(selfID, "stand-in-bot", true));
+		message.put("content", request.path("content").asText(""));
+		message.put("timestamp", Instant.now().toString());
+		message.put("edited_timestamp", null);
+		message.put("tts", false);
+		message.put("mention_everyone", false);
+		message.put("mentions", new ArrayList<Object>());
+		message.put("mention_roles", new ArrayList<Object>());
+		message.put("attachments", new ArrayList<Object>());
+		message.put("embeds", request.hasNonNull("embed") ? Collections.singletonList(mapper.convertValue(request.get("embed"), Map.class)) : new ArrayList<Object>());
+		message.put("pinned", false);
+		message.put("type", 0);
+		messages.put(messageID, message);
+		sendJson(exchange, 200, message);
+	}
+
+	private void getMessage(HttpExchange exchange, Matcher matcher) throws IOException {
+		Map<String, Object> message = findMessage(matcher);
+		if (message == null)
+			sendError(exchange, 404, 10008, "Unknown Message");
+		else
+			sendJson(exchange, 200, message);
+	}
+
+	private void getMessages(HttpExchange exchange, Matcher matcher) throws IOException {
+		Map<Long, Map<String, Object>> messages = channels.get(Long.parseLong(matcher.group(1)));
+		if (messages == null) {
+			sendError(exchange, 404, 10003, "Unknown Channel");
+			return;
+		}
+		Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+		int limit = Math.min(100, query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : 50);
+		long before = query.containsKey("before") ? Long.parseLong(query.get("before")) : Long.MAX_VALUE;
+		List<Map<String, Object>> page = new ArrayList<Map<String, Object>>();
+		for (Map<String, Object> message : ((ConcurrentSkipListMap<Long, Map<String, Object>>) messages).headMap(before).descendingMap().values()) {
+			if (page.size() == limit)
+				break;
+			page.add(message);
+		}
+		sendJson(exchange, 200, page);
+	}
+
+	private void editMessage(HttpExchange exchange, Matcher matcher) throws IOException {
+		Map<String, Object> message = findMessage(matcher);
+		if (message == null) {
+			sendError(exchange, 404, 10008, "Unknown Message");
+			return;
+		}
+		JsonNode request = mapper.readTree(readBody(exchange));
+		Map<String, Object> edited = new LinkedHashMap<String, Object>(message);
+		if (request.hasNonNull("content"))
+			edited.put("content", request.get("content").asText());
+		edited.put("edited_timestamp", Instant.now().toString());
+		channels.get(Long.parseLong(matcher.group(1))).put(Long.parseLong(matcher.group(2)), edited);
+		sendJson(exchange, 200, edited);
+	}
+
+	private void deleteMessage(HttpExchange exchange, Matcher matcher) throws IOException {
+		Map<Long, Map<String, Object>> messages = channels.get(Long.parseLong(matcher.group(1)));
+		if (messages == null || messages.remove(Long.parseLong(matcher.group(2))) == null)
+			sendError(exchange, 404, 10008, "Unknown Message");
+		else
+			noContent(exchange, matcher);
+	}
+
+	private void bulkDelete(HttpExchange exchange, Matcher matcher) throws IOException {
+		Map<Long, Map<String, Object>> messages = channels.get(Long.parseLong(matcher.group(1)));
+		if (messages == null) {
+			sendError(exchange, 404, 10003, "Unknown Channel");
+			return;
+		}
+		JsonNode ids = mapper.readTree(readBody(exchange)).path("messages");
+		if (ids.size() < 2 || ids.size() > 100) {
+			sendError(exchange, 400, 50016, "You must provide between 2 and 100 messages to delete");
+			return;
+		}
+		for (JsonNode id : ids)
+			messages.remove(id.asLong());
+		exchange.sendResponseHeaders(204, -1);
+		exchange.close();
+	}
+
+	private Map<String, Object> findMessage(Matcher matcher) {
+		Map<Long, Map<String, Object>> messages = channels.get(Long.parseLong(matcher.group(1)));
+		return messages == null ? null : messages.get(Long.parseLong(matcher.group(2)));
+	}
+
+	private void noContent(HttpExchange exchange, Matcher ignored) throws IOException {
+		readBody(exchange);
+		exchange.sendResponseHeaders(204, -1);
+		exchange.close();
+	}
+
+	private Map<String, Object> createUser(long userID, String username, boolean bot) {
+		Map<String, Object> user = new LinkedHashMap<String, Object>();
+		user.put("id", String.valueOf(userID));
+		user.put("username", username);
+		user.put("discriminator", "0000");
+		user.put("avatar", null);
+		user.put("bot", bot);
+		return user;
+	}
+
+	private void sendError(HttpExchange exchange, int status, int code, String message) throws IOException {
+		Map<String, Object> body = new HashMap<String, Object>();
+		body.put("code", code);
+		body.put("message", message);
+		sendJson(exchange, status, body);
+	}
+
+	private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+		byte[] bytes = mapper.writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(bytes);
+		}
+	}
+
+	private static byte[] readBody(HttpExchange exchange) throws IOException {
+		try (InputStream input = exchange.getRequestBody()) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = input.read(buffer)) != -1)
+				output.write(buffer, 0, read);
+			return output.size() == 0 ? "{}".getBytes(StandardCharsets.UTF_8) : output.toByteArray();
+		}
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> values = new HashMap<String, String>();
+		if (query == null)
+			return values;
+		for (String pair : query.split("&")) {
+			int split = pair.indexOf('=');
+			if (split > 0)
+				values.put(pair.substring(0, split), pair.substring(split + 1));
+		}
+		return values;
+	}
+
+	private interface RouteHandler {
+		void handle(HttpExchange exchange, Matcher matcher) throws IOException;
+	}
+
+	private static class Route {
+		private final String name;
+		private final String bucket;
+		private final Matcher matcher;
+		private final RouteHandler handler;
+
+		private Route(String name, String bucket, Matcher matcher, RouteHandler handler) {
+			this.name = name;
+			this.bucket = bucket;
+			this.matcher = matcher;
+			this.handler = handler;
+		}
+	}
+
+	private static class Bucket {
+		private long remaining;
+		private long resetAt;
+	}
+}
@@ -0,0 +1,89 @@
+package com.mjr.discordframework.loadtest;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import discord4j.rest.http.ExchangeStrategies;
+import discord4j.rest.http.ReaderStrategy;
+import discord4j.rest.http.WriterStrategy;
+import discord4j.rest.http.client.ClientException;
+import discord4j.rest.http.client.ClientRequest;
+import discord4j.rest.http.client.DiscordWebClient;
+import discord4j.rest.json.response.ErrorResponse;
+import discord4j.rest.request.DefaultRouter;
+import discord4j.rest.request.Router;
+import discord4j.rest.request.RouterFactory;
+import discord4j.rest.request.RouterOptions;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufMono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * Web client that sends every request to a different base url instead of the Discord API, Discord4J 3.0 has the API url built in. Requests still go through Discord4J's own router
+ * so its rate limit handling is what gets exercised
+ */
+public class DiscordStandInWebClient extends DiscordWebClient {
+	private final String baseUrl;
+
+	public DiscordStandInWebClient(HttpClient httpClient, ExchangeStrategies exchangeStrategies, String token, String baseUrl) {
+		super(httpClient, exchangeStrategies, token);
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * Gets a router factory for DiscordClientBuilder.setRouterFactory that points the client at a base url
+	 *
+	 * @param token
+	 * @param baseUrl
+	 * @return
+	 */
+	public static RouterFactory createRouterFactory(String token, String baseUrl) {
+		return new RouterFactory() {
+			@Override
+			public Router getRouter(DiscordWebClient webClient) {
+				return getRouter(webClient, RouterOptions.create());
+			}
+
+			@Override
+			public Router getRouter(DiscordWebClient webClient, RouterOptions routerOptions) {
+				return new DefaultRouter(new DiscordStandInWebClient(HttpClient.create(), webClient.getExchangeStrategies(), token, baseUrl), routerOptions);
+			}
+		};
+	}
+
+	@Override
+	public <R, T> Mono<T> exchange(ClientRequest request, R body, Class<T> responseType, Consumer<HttpClientResponse> responseConsumer) {
+		HttpHeaders requestHeaders = new DefaultHttpHeaders().add(getDefaultHeaders()).setAll(request.getHeaders());
+		String contentType = requestHeaders.get(HttpHeaderNames.CONTENT_TYPE);
+		HttpClient.RequestSender sender = getHttpClient().baseUrl(baseUrl).headers(headers -> headers.setAll(requestHeaders)).request(request.getMethod()).uri(request.getUrl());
+		return write(sender, body, contentType).flatMap(receiver -> receiver.responseSingle((response, content) -> {
+			responseConsumer.accept(response);
+			String responseContentType = response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE);
+			if (response.status().code() >= 400)
+				return read(content, ErrorResponse.class, responseContentType).map(error -> new ClientException(request, response, error))
+						.defaultIfEmpty(new ClientException(request, response, null)).flatMap(Mono::<T> error);
+			return read(content, responseType, responseContentType);
+		})).subscriberContext(context -> context.put(REQUEST_TIMESTAMP_KEY, Instant.now().toEpochMilli()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R> Mono<HttpClient.ResponseReceiver<?>> write(HttpClient.RequestSender sender, R body, String contentType) {
+		Class<?> bodyType = body == null ? null : body.getClass();
+		for (WriterStrategy<?> writer : getExchangeStrategies().writers())
+			if (writer.canWrite(bodyType, contentType))
+				return ((WriterStrategy<R>) writer).write(sender, body);
+		return Mono.error(new IllegalStateException("No writer for " + bodyType + " with content type " + contentType));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Mono<T> read(ByteBufMono content, Class<T> responseType, String contentType) {
+		for (ReaderStrategy<?> reader : getExchangeStrategies().readers())
+			if (reader.canRead(responseType, contentType))
+				return ((ReaderStrategy<T>) reader).read(content, responseType);
+		return Mono.error(new IllegalStateException("No reader for " + responseType + " with content type " + contentType));
+	}
+}
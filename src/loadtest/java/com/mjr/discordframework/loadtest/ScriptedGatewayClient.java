@@ -0,0 +1,217 @@
+package com.mjr.discordframework.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import discord4j.common.JacksonResourceProvider;
+import discord4j.gateway.GatewayClient;
+import discord4j.gateway.GatewayClientFactory;
+import discord4j.gateway.GatewayObserver;
+import discord4j.gateway.json.GatewayPayload;
+import discord4j.gateway.json.dispatch.Dispatch;
+import discord4j.gateway.json.dispatch.MessageDelete;
+import discord4j.gateway.json.dispatch.MessageReactionAdd;
+import discord4j.gateway.json.dispatch.MessageReactionRemove;
+import discord4j.gateway.json.dispatch.Ready;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Gateway client that never opens a websocket, it sends READY when the client logs in and after that only the dispatches a script emits. Use {@link #createFactory(ScriptedGatewayClient)}
+ * with DiscordClientBuilder.setGatewayClientFactory
+ */
+public class ScriptedGatewayClient implements GatewayClient {
+	private final ObjectMapper mapper = new JacksonResourceProvider().getObjectMapper();
+	private final long selfID;
+	private final EmitterProcessor<Dispatch> dispatches = EmitterProcessor.create(false);
+	private final FluxSink<Dispatch> dispatchSink = dispatches.sink(FluxSink.OverflowStrategy.BUFFER);
+	private final EmitterProcessor<GatewayPayload<?>> sent = EmitterProcessor.create(false);
+	private final FluxSink<GatewayPayload<?>> sentSink = sent.sink(FluxSink.OverflowStrategy.DROP);
+	private final AtomicInteger sequence = new AtomicInteger();
+	private volatile MonoProcessor<Void> session;
+
+	/**
+	 * @param selfID the user id of the bot, sent in READY
+	 */
+	public ScriptedGatewayClient(long selfID) {
+		super();
+		this.selfID = selfID;
+		this.sent.subscribe();
+	}
+
+	public static GatewayClientFactory createFactory(ScriptedGatewayClient gatewayClient) {
+		return (httpClient, payloadReader, payloadWriter, retryOptions, token, identifyOptions, observer, identifyLimiter) -> gatewayClient;
+	}
+
+	@Override
+	public Mono<Void> execute(String gatewayUrl) {
+		return execute(gatewayUrl, GatewayObserver.NOOP_LISTENER);
+	}
+
+	@Override
+	public Mono<Void> execute(String gatewayUrl, GatewayObserver observer) {
+		return Mono.defer(() -> {
+			MonoProcessor<Void> current = MonoProcessor.create();
+			session = current;
+			emitReady();
+			return current;
+		});
+	}
+
+	@Override
+	public Mono<Void> close(boolean allowResume) {
+		return Mono.fromRunnable(() -> {
+			MonoProcessor<Void> current = session;
+			session = null;
+			if (current != null)
+				current.onComplete();
+		});
+	}
+
+	@Override
+	public Flux<Dispatch> dispatch() {
+		return dispatches;
+	}
+
+	@Override
+	public Flux<GatewayPayload<?>> receiver() {
+		return Flux.never();
+	}
+
+	@Override
+	public <T> Flux<T> receiver(Function<ByteBuf, Publisher<? extends T>> mapper) {
+		return Flux.never();
+	}
+
+	@Override
+	public FluxSink<GatewayPayload<?>> sender() {
+		return sentSink;
+	}
+
+	@Override
+	public Mono<Void> sendBuffer(Publisher<ByteBuf> publisher) {
+		return Flux.from(publisher).doOnNext(ByteBuf::release).then();
+	}
+
+	@Override
+	public String getSessionId() {
+		return "stand-in";
+	}
+
+	@Override
+	public int getSequence() {
+		return sequence.get();
+	}
+
+	@Override
+	public boolean isConnected() {
+		return session != null;
+	}
+
+	@Override
+	public long getResponseTime() {
+		return 0;
+	}
+
+	/**
+	 * Emits a dispatch as if it came from the gateway
+	 *
+	 * @param dispatch
+	 */
+	public void emit(Dispatch dispatch) {
+		sequence.incrementAndGet();
+		dispatchSink.next(dispatch);
+	}
+
+	/**
+	 * Emits a reaction add from a member who is not a bot
+	 *
+	 * @param userID
+	 * @param channelID
+	 * @param messageID
+	 * @param guildID
+	 * @param emoji
+	 */
+	public void emitReactionAdd(long userID, long channelID, long messageID, long guildID, String emoji) {
+		Map<String, Object> user = createUser(userID, "user-" + userID, false);
+		Map<String, Object> member = new LinkedHashMap<String, Object>();
+		member.put("user", user);
+		member.put("roles", new ArrayList<Object>());
+		member.put("joined_at", "2019-01-01T00:00:00.000000+00:00");
+		member.put("deaf", false);
+		member.put("mute", false);
+		Map<String, Object> data = createReaction(userID, channelID, messageID, guildID, emoji);
+		data.put("member", member);
+		emit(convert(data, MessageReactionAdd.class));
+	}
+
+	public void emitReactionRemove(long userID, long channelID, long messageID, long guildID, String emoji) {
+		emit(convert(createReaction(userID, channelID, messageID, guildID, emoji), MessageReactionRemove.class));
+	}
+
+	public void emitMessageDelete(long channelID, long messageID, long guildID) {
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("id", String.valueOf(messageID));
+		data.put("channel_id", String.valueOf(channelID));
+		data.put("guild_id", String.valueOf(guildID));
+		emit(convert(data, MessageDelete.class));
+	}
+
+	private void emitReady() {
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("v", 6);
+		data.put("user", createUser(selfID, "stand-in-bot", true));
+		data.put("private_channels", new ArrayList<Object>());
+		data.put("guilds", new ArrayList<Object>());
+		data.put("session_id", getSessionId());
+		List<String> trace = new ArrayList<String>();
+		trace.add("stand-in");
+		data.put("_trace", trace);
+		emit(convert(data, Ready.class));
+	}
+
+	private Map<String, Object> createReaction(long userID, long channelID, long messageID, long guildID, String emoji) {
+		Map<String, Object> emojiData = new LinkedHashMap<String, Object>();
+		emojiData.put("id", null);
+		emojiData.put("name", emoji);
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("user_id", String.valueOf(userID));
+		data.put("channel_id", String.valueOf(channelID));
+		data.put("message_id", String.valueOf(messageID));
+		data.put("guild_id", String.valueOf(guildID));
+		data.put("emoji", emojiData);
+		return data;
+	}
+
+	private static Map<String, Object> createUser(long userID, String username, boolean bot) {
+		Map<String, Object> user = new LinkedHashMap<String, Object>();
+		user.put("id", String.valueOf(userID));
+		user.put("username", username);
+		user.put("discriminator", "0000");
+		user.put("avatar", null);
+		user.put("bot", bot);
+		return user;
+	}
+
+	private <T> T convert(Map<String, Object> data, Class<T> type) {
+		try {
+			return mapper.readValue(mapper.writeValueAsBytes(data), type);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -1,19 +1,49 @@
 package com.mjr.discordframework;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import com.mjr.discordframework.cache.DiscordChannelCache;
+import com.mjr.discordframework.cache.DiscordDisplayNameCache;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.cache.DiscordRoleIndex;
+import com.mjr.discordframework.cache.DiscordUserCache;
+import com.mjr.discordframework.handlers.DiscordEventWorkerPool;
 import com.mjr.discordframework.handlers.GlobalEventHandler;
+import com.mjr.discordframework.helperManagers.DiscordLiveMessage;
+import com.mjr.discordframework.helperManagers.DiscordMessageCoalescer;
+import com.mjr.discordframework.helperManagers.DiscordOutboundQueue;
+import com.mjr.discordframework.helperManagers.DiscordRestAccess;
+import com.mjr.discordframework.helperManagers.DiscordTimedDeleteJournal;
+import com.mjr.discordframework.helperManagers.DiscordTimedDeleteScheduler;
+import com.mjr.discordframework.metrics.DiscordMetrics;
 import com.mjr.discordframework.reactionMessage.handlers.ReactionMessageEventHandler;
 import com.mjr.discordframework.reactionMessage.DiscordReactionMessageManager;
 
+import discord4j.common.SimpleBucket;
 import discord4j.core.DiscordClient;
 import discord4j.core.DiscordClientBuilder;
 import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.guild.GuildCreateEvent;
+import discord4j.core.event.domain.lifecycle.ReadyEvent;
 import discord4j.core.event.domain.message.MessageDeleteEvent;
 import discord4j.core.event.domain.message.ReactionAddEvent;
 import discord4j.core.event.domain.message.ReactionRemoveEvent;
+import discord4j.core.object.entity.Guild;
 import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
 import discord4j.core.spec.MessageEditSpec;
+import discord4j.gateway.PayloadTransformer;
+import discord4j.gateway.RateLimiterTransformer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public abstract class DiscordBotBase {
@@ -32,9 +62,25 @@ public abstract class DiscordBotBase {
 		}
 	}
 
+	private static final Map<DiscordClient, DiscordBotBase> bots = new ConcurrentHashMap<DiscordClient, DiscordBotBase>();
+
+	public static final Duration IDENTIFY_INTERVAL = Duration.ofSeconds(6);
+
+	private final DiscordListenerRegistry listenerRegistry = new DiscordListenerRegistry();
+	private final DiscordBotStartup startup = new DiscordBotStartup();
+	private DiscordBotCoordinator coordinator;
 	private DiscordClient client;
+	private DiscordClient[] shards;
+	private int shardCount = 1;
 	private EventDispatcher dispatcher;
 	private DiscordReactionMessageManager reactionMessageManager;
+	private DiscordOutboundQueue outboundQueue;
+	private volatile DiscordMessageCoalescer messageCoalescer;
+	private DiscordTimedDeleteScheduler timedDeleteScheduler;
+	private volatile DiscordEventWorkerPool eventWorkerPool;
+	private final DiscordMetrics metrics = new DiscordMetrics();
+	private Consumer<DiscordClientBuilder> clientConfigurer;
+	private volatile DiscordMessageType messageOutputLevel = DiscordMessageType.Info;
 
 	/**
 	 * Setup Discord Bot instance
@@ -42,42 +88,378 @@ public abstract class DiscordBotBase {
 	 * @param token
 	 */
 	public DiscordBotBase(String token) {
+		this(DiscordBotCoordinator.getDefault(), token);
+	}
+
+	/**
+	 * Setup Discord Bot instance that runs on the threads of a coordinator
+	 *
+	 * @param coordinator
+	 * @param token
+	 */
+	public DiscordBotBase(DiscordBotCoordinator coordinator, String token) {
+		super();
+		this.coordinator = coordinator;
+		start(token, 1, new int[] { 0 });
+	}
+
+	/**
+	 * Setup a sharded Discord Bot instance that runs every shard
+	 *
+	 * @param token
+	 * @param shardCount
+	 */
+	public DiscordBotBase(String token, int shardCount) {
+		super();
+		this.coordinator = DiscordBotCoordinator.getDefault();
+		int[] shardIDs = new int[Math.max(0, shardCount)];
+		for (int i = 0; i < shardCount; i++)
+			shardIDs[i] = i;
+		start(token, shardCount, shardIDs);
+	}
+
+	/**
+	 * Setup a sharded Discord Bot instance that only runs some of the shards, for when shards are spread over multiple processes
+	 *
+	 * @param token
+	 * @param shardCount
+	 * @param shardIDs the shards this instance runs
+	 */
+	public DiscordBotBase(String token, int shardCount, int... shardIDs) {
+		this(DiscordBotCoordinator.getDefault(), token, shardCount, shardIDs);
+	}
+
+	/**
+	 * Setup a sharded Discord Bot instance that runs some or all of the shards on the threads of a coordinator
+	 *
+	 * @param coordinator
+	 * @param token
+	 * @param shardCount
+	 * @param shardIDs the shards this instance runs
+	 */
+	public DiscordBotBase(DiscordBotCoordinator coordinator, String token, int shardCount, int... shardIDs) {
+		this(coordinator, token, null, shardCount, shardIDs);
+	}
+
+	/**
+	 * Setup a Discord Bot instance with extra configuration applied to every shard's client before it is built, for example to use a different router or gateway client
+	 *
+	 * @param coordinator
+	 * @param token
+	 * @param clientConfigurer
+	 * @param shardCount
+	 * @param shardIDs the shards this instance runs
+	 */
+	public DiscordBotBase(DiscordBotCoordinator coordinator, String token, Consumer<DiscordClientBuilder> clientConfigurer, int shardCount, int... shardIDs) {
 		super();
+		this.coordinator = coordinator;
+		this.clientConfigurer = clientConfigurer;
+		start(token, shardCount, shardIDs);
+	}
+
+	/**
+	 * Used locally to create the shard clients, register the handlers on every shard's dispatcher and then log the shards in without waiting for them to connect, see
+	 * {@link #getReadiness()}
+	 *
+	 * @param token
+	 * @param shardCount
+	 * @param shardIDs
+	 */
+	private void start(String token, int shardCount, int[] shardIDs) {
 		if (token.length() == 0) {
-			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Missing Discord oAuth Token!");
+			failStart("Missing Discord oAuth Token!");
+			return;
+		}
+		if (shardCount <= 0) {
+			failStart("Discord Bot was not started, the shard count must be at least 1 but was " + shardCount);
 			return;
 		}
-		DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Info, "Discord Bot is starting");
-		this.client = connectClient(token);
-		this.dispatcher = client.getEventDispatcher();
+		if (shardIDs.length == 0) {
+			failStart("Discord Bot was not started, no shard ids were given to run");
+			return;
+		}
+		boolean[] seenShardIDs = new boolean[shardCount];
+		for (int shardID : shardIDs) {
+			if (shardID < 0 || shardID >= shardCount) {
+				failStart("Discord Bot was not started, shard id " + shardID + " is outside of 0 to " + (shardCount - 1) + " for a shard count of " + shardCount);
+				return;
+			}
+			if (seenShardIDs[shardID]) {
+				failStart("Discord Bot was not started, shard id " + shardID + " was given more than once");
+				return;
+			}
+			seenShardIDs[shardID] = true;
+		}
+		DiscordEventHooks.triggerMessageEvent(this, this.client, DiscordMessageType.Info, "Discord Bot is starting");
+		long phaseStart = System.nanoTime();
+		this.shardCount = shardCount;
+		this.shards = new DiscordClient[shardCount];
+		PayloadTransformer identifyLimiter = shardCount > 1 ? new RateLimiterTransformer(new SimpleBucket(1, IDENTIFY_INTERVAL)) : null;
+		for (int shardID : shardIDs) {
+			DiscordClient temp = connectClient(token, shardID, shardCount, identifyLimiter);
+			if (temp == null)
+				continue;
+			if (this.client == null) {
+				this.client = temp;
+				this.dispatcher = temp.getEventDispatcher();
+			}
+			this.shards[shardID] = temp;
+			bots.put(temp, this);
+		}
+		if (this.client == null) {
+			failStart("Discord Bot was not started, none of its shards could be connected");
+			return;
+		}
+		startup.recordPhase("create clients", phaseStart);
+		phaseStart = System.nanoTime();
+		coordinator.register(this);
 		this.setReactionMessageManager(new DiscordReactionMessageManager());
-		this.dispatcher.on(ReactionAddEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Error while processing ReactionAddEvent Error: " + t.getMessage()))
-				.subscribe(o -> ReactionMessageEventHandler.onMessageReactionAddReceivedEvent(o, this));
-		this.dispatcher.on(ReactionRemoveEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Error while processing ReactionRemoveEvent Error: " + t.getMessage()))
-				.subscribe(o -> ReactionMessageEventHandler.onMessageReactionRemoveReceivedEvent(o, this));
-		this.dispatcher.on(MessageDeleteEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Error while processing MessageDeleteEvent Error: " + t.getMessage()))
-				.subscribe(o -> GlobalEventHandler.onMessageDelete(o, this));
-		DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Info, "Discord Bot has been fully started");
-		DiscordEventHooks.triggerClientConnectedEvent(this.client, this.dispatcher);
+		this.setOutboundQueue(new DiscordOutboundQueue(this.client));
+		this.timedDeleteScheduler = new DiscordTimedDeleteScheduler(this.client, this);
+		this.eventWorkerPool = new DiscordEventWorkerPool(this.client, coordinator);
+		List<DiscordBotStartup.ShardStartup> shardStartups = new ArrayList<DiscordBotStartup.ShardStartup>();
+		for (int shardID = 0; shardID < shardCount; shardID++) {
+			DiscordClient temp = shards[shardID];
+			if (temp == null)
+				continue;
+			DiscordBotStartup.ShardStartup shardStartup = startup.addShard(shardID);
+			shardStartups.add(shardStartup);
+			DiscordChannelCache.getCache(temp);
+			DiscordRoleIndex.getIndex(temp);
+			DiscordDisplayNameCache.getCache(temp);
+			DiscordUserCache.getCache(temp);
+			registerHandlers(temp, temp.getEventDispatcher());
+			registerStartupHandlers(temp, temp.getEventDispatcher(), shardStartup);
+		}
+		DiscordMessageCache.getCache(this);
+		startup.finishSetup(DiscordBotStartup.READY_TIMEOUT.plus(IDENTIFY_INTERVAL.multipliedBy(shardStartups.size())));
+		startup.recordPhase("register handlers", phaseStart);
+		startup.getReadiness().subscribe(ignored -> {
+		}, error -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Discord Bot did not finish starting, error: " + error.getMessage()), () -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Info, () -> "Discord Bot has been fully started, took " + startup.getPhaseTimings().get("ready").toMillis() + "ms"));
+		List<DiscordClient> clients = getShardClients();
+		for (int i = 0; i < clients.size(); i++) {
+			DiscordClient temp = clients.get(i);
+			DiscordBotStartup.ShardStartup shardStartup = shardStartups.get(i);
+			shardStartup.onLogin();
+			temp.login().subscribe(ignored -> {
+			}, error -> {
+				DiscordEventHooks.triggerMessageEvent(temp, DiscordMessageType.Error, "Bot was unable to login, error: " + error.getMessage());
+				shardStartup.onLoginFailed(error);
+				releaseClient(temp);
+			}, () -> releaseClient(temp));
+		}
 	}
 
 	/**
-	 * Used locally to create a client connection
+	 * Used locally when the bot could not be started, reports why and fails the bot's readiness so nothing waits on it forever
+	 *
+	 * @param message
+	 */
+	private void failStart(String message) {
+		DiscordEventHooks.triggerMessageEvent(this, this.client, DiscordMessageType.Error, message);
+		startup.fail(new IllegalStateException(message));
+	}
+
+	/**
+	 * Logs out every shard the bot runs and stops the bot's workers, the per client caches and then the bot's message cache are released and pending timed deletes stay
+	 * in the journal
+	 *
+	 * @return a Mono that completes once every shard has logged out
+	 */
+	public Mono<Void> shutdown() {
+		return Flux.fromIterable(getShardClients()).flatMap(temp -> temp.logout().onErrorResume(t -> {
+			DiscordEventHooks.triggerMessageEvent(temp, DiscordMessageType.Error, "Bot was unable to logout, error: " + t.getMessage());
+			return Mono.empty();
+		})).then().doFinally(signal -> {
+			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Info, "Discord Bot has been shut down");
+			for (DiscordClient temp : getShardClients())
+				releaseClient(temp);
+			DiscordMessageCache.release(this);
+			coordinator.unregister(this);
+			if (messageCoalescer != null)
+				messageCoalescer.flushAll();
+			if (timedDeleteScheduler != null)
+				timedDeleteScheduler.shutdown();
+			if (eventWorkerPool != null)
+				eventWorkerPool.shutdown();
+		});
+	}
+
+	/**
+	 * Used locally to drop a shard client's caches and its entry in the bot lookup once it has logged out, so neither the client nor its event subscriptions are kept alive
+	 *
+	 * @param shardClient
+	 */
+	private void releaseClient(DiscordClient shardClient) {
+		DiscordChannelCache.release(shardClient);
+		DiscordRoleIndex.release(shardClient);
+		DiscordDisplayNameCache.release(shardClient);
+		DiscordUserCache.release(shardClient);
+		bots.remove(shardClient, this);
+	}
+
+	/**
+	 * Used locally to track a shard's startup, the connected event is fired when the shard receives the gateway READY event and every guild's caches are warmed as the guild is
+	 * created
+	 *
+	 * @param shardClient
+	 * @param shardDispatcher
+	 * @param shardStartup
+	 */
+	private void registerStartupHandlers(DiscordClient shardClient, EventDispatcher shardDispatcher, DiscordBotStartup.ShardStartup shardStartup) {
+		shardDispatcher.on(ReadyEvent.class).subscribe(event -> {
+			Set<Snowflake> guildIDs = new HashSet<Snowflake>();
+			for (ReadyEvent.Guild guild : event.getGuilds())
+				guildIDs.add(guild.getId());
+			shardStartup.onReady(guildIDs);
+			DiscordEventHooks.triggerClientConnectedEvent(shardClient, shardDispatcher);
+		});
+		shardDispatcher.on(GuildCreateEvent.class).flatMap(event -> warmGuildCaches(shardClient, event.getGuild()).onErrorResume(t -> {
+			DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while warming caches for guild " + event.getGuild().getId().asString() + " Error: " + t.getMessage());
+			return Mono.empty();
+		}).then(Mono.fromRunnable(() -> shardStartup.onGuildWarmed(event.getGuild().getId())))).subscribe();
+	}
+
+	/**
+	 * Warms the bot's caches for a guild when the guild is created, runs in parallel for every guild
+	 *
+	 * @param shardClient
+	 * @param guild
+	 * @return
+	 */
+	protected Mono<Void> warmGuildCaches(DiscordClient shardClient, Guild guild) {
+		DiscordChannelCache channelCache = DiscordChannelCache.getCache(shardClient);
+		return Mono.when(guild.getChannels().doOnNext(channelCache::put), DiscordRoleIndex.getIndex(shardClient).index(guild));
+	}
+
+	/**
+	 * Gets a Mono that completes once every shard the bot runs has received the gateway READY event, sends should wait for this
+	 *
+	 * @return
+	 */
+	public Mono<Void> getReadiness() {
+		return startup.getReadiness();
+	}
+
+	/**
+	 * Gets the bot's startup state, including how long each phase took
+	 *
+	 * @return
+	 */
+	public DiscordBotStartup getStartup() {
+		return startup;
+	}
+
+	/**
+	 * Used locally to register the bot's reaction and delete handlers on a shard's dispatcher, the handlers run on the bot's worker pool partitioned by message id
+	 *
+	 * @param shardClient
+	 * @param shardDispatcher
+	 */
+	private void registerHandlers(DiscordClient shardClient, EventDispatcher shardDispatcher) {
+		shardDispatcher.on(ReactionAddEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while processing ReactionAddEvent Error: " + t.getMessage()))
+				.subscribe(o -> eventWorkerPool.submit(o.getMessageId().asLong(), () -> ReactionMessageEventHandler.onMessageReactionAddReceivedEvent(o, this).onErrorResume(t -> {
+					DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while processing ReactionAddEvent Error: " + t.getMessage());
+					return Mono.empty();
+				})));
+		shardDispatcher.on(ReactionRemoveEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while processing ReactionRemoveEvent Error: " + t.getMessage()))
+				.subscribe(o -> eventWorkerPool.submit(o.getMessageId().asLong(), () -> ReactionMessageEventHandler.onMessageReactionRemoveReceivedEvent(o, this).onErrorResume(t -> {
+					DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while processing ReactionRemoveEvent Error: " + t.getMessage());
+					return Mono.empty();
+				})));
+		shardDispatcher.on(MessageDeleteEvent.class).onErrorContinue((t, o) -> DiscordEventHooks.triggerMessageEvent(shardClient, DiscordMessageType.Error, "Error while processing MessageDeleteEvent Error: " + t.getMessage()))
+				.subscribe(o -> eventWorkerPool.submit(o.getMessageId().asLong(), () -> GlobalEventHandler.onMessageDelete(o, this)));
+	}
+
+	/**
+	 * Used locally to create a shard client, the client is logged in once the handlers have been registered
 	 *
 	 * @param token
+	 * @param shardID
+	 * @param shardCount
+	 * @param identifyLimiter shared by every shard so they identify one at a time, null to use the default
 	 * @return
 	 */
-	private DiscordClient connectClient(String token) {
+	private DiscordClient connectClient(String token, int shardID, int shardCount, PayloadTransformer identifyLimiter) {
 		try {
-			DiscordClient temp = new DiscordClientBuilder(token).build();
-			temp.login().subscribe();
-			return temp;
+			DiscordClientBuilder builder = new DiscordClientBuilder(token).setEventScheduler(coordinator.getEventScheduler());
+			if (shardCount > 1) {
+				builder.setShardIndex(shardID).setShardCount(shardCount);
+				if (identifyLimiter != null)
+					builder.setIdentifyLimiter(identifyLimiter);
+			}
+			if (clientConfigurer != null)
+				clientConfigurer.accept(builder);
+			return builder.build();
 		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Bot was unable to create a connection, error: " + e.getMessage());
+			DiscordEventHooks.triggerMessageEvent(this, this.client, DiscordMessageType.Error, "Bot was unable to create a connection for shard " + shardID + ", error: " + e.getMessage());
 			return null;
 		}
 	}
 
+	/**
+	 * Gets the shard a guild belongs to
+	 *
+	 * @param guildID
+	 * @param shardCount
+	 * @return
+	 */
+	public static int getShardID(Snowflake guildID, int shardCount) {
+		return (int) ((guildID.asLong() >> 22) % shardCount);
+	}
+
+	/**
+	 * Gets the shard a guild belongs to
+	 *
+	 * @param guildID
+	 * @return
+	 */
+	public int getShardID(Snowflake guildID) {
+		return getShardID(guildID, shardCount);
+	}
+
+	/**
+	 * Gets the shard client that owns a guild, helper calls for a guild should be made with this client
+	 *
+	 * @param guildID
+	 * @return null if the guild's shard is not run by this instance
+	 */
+	public DiscordClient getClientForGuild(Snowflake guildID) {
+		if (shards == null)
+			return null;
+		return shards[getShardID(guildID)];
+	}
+
+	/**
+	 * Gets the client for a shard
+	 *
+	 * @param shardID
+	 * @return null if the shard is not run by this instance
+	 */
+	public DiscordClient getShardClient(int shardID) {
+		if (shards == null || shardID < 0 || shardID >= shards.length)
+			return null;
+		return shards[shardID];
+	}
+
+	/**
+	 * Gets the clients of every shard run by this instance
+	 *
+	 * @return
+	 */
+	public List<DiscordClient> getShardClients() {
+		List<DiscordClient> clients = new ArrayList<DiscordClient>();
+		if (shards != null)
+			for (DiscordClient temp : shards)
+				if (temp != null)
+					clients.add(temp);
+		return clients;
+	}
+
+	public int getShardCount() {
+		return shardCount;
+	}
+
 	/**
 	 * Edit a already sent message
 	 *
@@ -90,7 +472,7 @@ public abstract class DiscordBotBase {
 	}
 
 	/**
-	 * Edit a already sent message
+	 * Edit a already sent message, for messages that are edited often use {@link #createLiveMessage(Message)}
 	 *
 	 * @param oldMessage
 	 * @param newMessage
@@ -102,7 +484,7 @@ public abstract class DiscordBotBase {
 		if (client.isConnected() == false)
 			return null;
 		try {
-			return oldMessage.block().edit(newMessage).block();
+			return metrics.time(DiscordMetrics.Operation.EDIT, oldMessage.block().edit(newMessage)).doOnNext(DiscordMessageCache.getCache(client)::put).block();
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Message could not be edited, error: " + e.getMessage());
 			return null;
@@ -110,7 +492,98 @@ public abstract class DiscordBotBase {
 	}
 
 	/**
-	 * Gets the instance of the bot's DiscordClient object
+	 * Edit a already sent message without blocking, goes straight to the REST route so the message is not fetched first
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param content
+	 * @return
+	 */
+	public Mono<Message> editMessageAsync(Snowflake channelID, Snowflake messageID, final String content) {
+		return editMessageAsync(channelID, messageID, spec -> spec.setContent(content));
+	}
+
+	/**
+	 * Edit a already sent message without blocking, goes straight to the REST route so the message is not fetched first
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param newMessage
+	 * @return
+	 */
+	public Mono<Message> editMessageAsync(Snowflake channelID, Snowflake messageID, Consumer<MessageEditSpec> newMessage) {
+		return Mono.defer(() -> {
+			MessageEditSpec spec = new MessageEditSpec();
+			newMessage.accept(spec);
+			return metrics.time(DiscordMetrics.Operation.EDIT, DiscordRestAccess.editMessage(client, channelID, messageID, spec.asRequest()));
+		}).doOnNext(DiscordMessageCache.getCache(client)::put).doOnError(error -> DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Message could not be edited, error: " + error.getMessage()));
+	}
+
+	/**
+	 * Create a live message handle for a already sent message, edits posted to the handle are coalesced so only the latest is sent at most once a second
+	 *
+	 * @param message
+	 * @return
+	 */
+	public DiscordLiveMessage createLiveMessage(Message message) {
+		return createLiveMessage(message.getChannelId(), message.getId(), DiscordLiveMessage.DEFAULT_MIN_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * Create a live message handle for a already sent message, edits posted to the handle are coalesced so only the latest is sent at most once per interval
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param minIntervalMillis shortest time between two edits being sent
+	 * @return
+	 */
+	public DiscordLiveMessage createLiveMessage(Snowflake channelID, Snowflake messageID, long minIntervalMillis) {
+		return new DiscordLiveMessage(client, channelID, messageID, minIntervalMillis);
+	}
+
+	/**
+	 * Gets the bot that owns a DiscordClient
+	 *
+	 * @param client
+	 * @return null if the client was not created by a bot
+	 */
+	public static DiscordBotBase getBot(DiscordClient client) {
+		if (client == null)
+			return null;
+		return bots.get(client);
+	}
+
+	/**
+	 * Gets the lowest message type that is sent to the debug output listeners for this bot
+	 *
+	 * @return null if the debug output is turned off
+	 */
+	public DiscordMessageType getMessageOutputLevel() {
+		return messageOutputLevel;
+	}
+
+	/**
+	 * Sets the lowest message type that is sent to the debug output listeners for this bot, Info sends everything and Error only sends errors
+	 *
+	 * @param messageOutputLevel null to turn the debug output off
+	 */
+	public void setMessageOutputLevel(DiscordMessageType messageOutputLevel) {
+		this.messageOutputLevel = messageOutputLevel;
+	}
+
+	/**
+	 * Checks if a message type is sent to the debug output listeners for this bot
+	 *
+	 * @param messageType
+	 * @return
+	 */
+	public boolean isMessageOutputEnabled(DiscordMessageType messageType) {
+		DiscordMessageType level = this.messageOutputLevel;
+		return level != null && messageType.ordinal() >= level.ordinal();
+	}
+
+	/**
+	 * Gets the instance of the bot's DiscordClient object, for a sharded bot this is the client of the first shard it runs
 	 *
 	 * @return
 	 */
@@ -118,6 +591,24 @@ public abstract class DiscordBotBase {
 		return client;
 	}
 
+	/**
+	 * Gets the listeners that only receive this bot's events, listeners registered with {@link DiscordListenerManager} receive the events of every bot
+	 *
+	 * @return
+	 */
+	public DiscordListenerRegistry getListenerRegistry() {
+		return listenerRegistry;
+	}
+
+	/**
+	 * Gets the coordinator whose threads this bot runs on
+	 *
+	 * @return
+	 */
+	public DiscordBotCoordinator getCoordinator() {
+		return coordinator;
+	}
+
 	/**
 	 * Gets the instance of the bot's Dispatcher object
 	 *
@@ -127,6 +618,138 @@ public abstract class DiscordBotBase {
 		return dispatcher;
 	}
 
+	/**
+	 * Gets the instance of the bot's ChannelCache object
+	 *
+	 * @return
+	 */
+	public DiscordChannelCache getChannelCache() {
+		return DiscordChannelCache.getCache(client);
+	}
+
+	/**
+	 * Gets the instance of the bot's UserCache object
+	 *
+	 * @return
+	 */
+	public DiscordUserCache getUserCache() {
+		return DiscordUserCache.getCache(client);
+	}
+
+	/**
+	 * Gets the instance of the bot's MessageCache object
+	 *
+	 * @return
+	 */
+	public DiscordMessageCache getMessageCache() {
+		return DiscordMessageCache.getCache(this);
+	}
+
+	/**
+	 * Gets the instance of the bot's DisplayNameCache object
+	 *
+	 * @return
+	 */
+	public DiscordDisplayNameCache getDisplayNameCache() {
+		return DiscordDisplayNameCache.getCache(client);
+	}
+
+	/**
+	 * Gets the instance of the bot's OutboundQueue object
+	 *
+	 * @return null if sends are not queued
+	 */
+	public DiscordOutboundQueue getOutboundQueue() {
+		return outboundQueue;
+	}
+
+	/**
+	 * Sets the instance of the bot's OutboundQueue object
+	 *
+	 * @param outboundQueue null to send straight away without queueing
+	 */
+	public void setOutboundQueue(DiscordOutboundQueue outboundQueue) {
+		this.outboundQueue = outboundQueue;
+	}
+
+	/**
+	 * Gets the instance of the bot's MessageCoalescer object
+	 *
+	 * @return null if messages are not coalesced
+	 */
+	public DiscordMessageCoalescer getMessageCoalescer() {
+		return messageCoalescer;
+	}
+
+	/**
+	 * Sets the instance of the bot's MessageCoalescer object, channels still need to be enabled on the coalescer before messages sent to them with
+	 * DiscordSendMessageManager.sendCoalescedMessage are coalesced
+	 *
+	 * @param messageCoalescer null to turn coalescing off
+	 */
+	public void setMessageCoalescer(DiscordMessageCoalescer messageCoalescer) {
+		DiscordMessageCoalescer previous = this.messageCoalescer;
+		this.messageCoalescer = messageCoalescer;
+		if (previous != null)
+			previous.flushAll();
+	}
+
+	/**
+	 * Gets the instance of the bot's EventWorkerPool object, which the reaction and delete handlers run on
+	 *
+	 * @return
+	 */
+	public DiscordEventWorkerPool getEventWorkerPool() {
+		return eventWorkerPool;
+	}
+
+	/**
+	 * Sets the instance of the bot's EventWorkerPool object, the previous pool is shut down once its queued handlers have run
+	 *
+	 * @param eventWorkerPool
+	 */
+	public void setEventWorkerPool(DiscordEventWorkerPool eventWorkerPool) {
+		DiscordEventWorkerPool previous = this.eventWorkerPool;
+		this.eventWorkerPool = eventWorkerPool;
+		if (previous != null)
+			previous.shutdown();
+	}
+
+	/**
+	 * Gets the instance of the bot's Metrics object, which records REST latency, errors by HTTP status and event handler lag
+	 *
+	 * @return
+	 */
+	public DiscordMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Gets the instance of the bot's TimedDeleteScheduler object
+	 *
+	 * @return
+	 */
+	public DiscordTimedDeleteScheduler getTimedDeleteScheduler() {
+		return timedDeleteScheduler;
+	}
+
+	/**
+	 * Record timed deletes in a journal file so they still happen after a restart, deletes left in the file from a previous run are replayed
+	 *
+	 * @param journalFile
+	 * @return false if the journal could not be opened
+	 */
+	public boolean enableTimedDeleteJournal(Path journalFile) {
+		try {
+			timedDeleteScheduler.setJournal(new DiscordTimedDeleteJournal(journalFile, coordinator));
+			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Info, () -> "Timed delete journal opened at " + journalFile + " with " + timedDeleteScheduler.getPendingCount() + " pending deletes");
+			return true;
+		} catch (IOException e) {
+			DiscordEventHooks.triggerMessageEvent(this.client, DiscordMessageType.Error, "Unable to open timed delete journal at " + journalFile + " Error: " + e.getMessage());
+			return false;
+		}
+	}
+
 	/**
 	 * Gets the instance of the bot's ReactionMessageManager object
 	 *
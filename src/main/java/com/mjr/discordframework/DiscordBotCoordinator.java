@@ -0,0 +1,142 @@
+package com.mjr.discordframework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import discord4j.core.DiscordClient;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Process level owner of the threads bots run on, so many bots in one JVM share a single event pool, work scheduler, blocking scheduler and timer instead of each starting their
+ * own. Bots use the default coordinator unless they are given one
+ */
+public class DiscordBotCoordinator {
+	private static volatile DiscordBotCoordinator defaultCoordinator;
+
+	private final int eventThreads;
+	private final Scheduler eventScheduler;
+	private final Scheduler workScheduler;
+	private final Scheduler blockingScheduler;
+	private final HashedWheelTimer timer;
+	private final Set<DiscordBotBase> bots = ConcurrentHashMap.newKeySet();
+
+	public DiscordBotCoordinator() {
+		this(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+	}
+
+	/**
+	 * @param eventThreads how many threads gateway events for every bot are dispatched on, handlers must not block these threads and should move blocking work to
+	 *            {@link #getBlockingScheduler()}
+	 */
+	public DiscordBotCoordinator(int eventThreads) {
+		super();
+		this.eventThreads = eventThreads;
+		this.eventScheduler = Schedulers.fromExecutorService(Executors.newFixedThreadPool(eventThreads, new DefaultThreadFactory("discord-events", true)));
+		this.workScheduler = Schedulers.newParallel("discord-work", Math.max(2, Runtime.getRuntime().availableProcessors() / 2), true);
+		this.blockingScheduler = Schedulers.newElastic("discord-blocking", 60, true);
+		this.timer = new HashedWheelTimer(new DefaultThreadFactory("discord-timer", true), 100, TimeUnit.MILLISECONDS, 512);
+	}
+
+	/**
+	 * Gets the coordinator used by bots that are not given one
+	 *
+	 * @return
+	 */
+	public static DiscordBotCoordinator getDefault() {
+		DiscordBotCoordinator temp = defaultCoordinator;
+		if (temp == null) {
+			synchronized (DiscordBotCoordinator.class) {
+				temp = defaultCoordinator;
+				if (temp == null)
+					defaultCoordinator = temp = new DiscordBotCoordinator();
+			}
+		}
+		return temp;
+	}
+
+	/**
+	 * Gets the coordinator of the bot that owns a client
+	 *
+	 * @param client
+	 * @return the default coordinator if the client has no bot
+	 */
+	public static DiscordBotCoordinator getCoordinator(DiscordClient client) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		return bot == null || bot.getCoordinator() == null ? getDefault() : bot.getCoordinator();
+	}
+
+	/**
+	 * Gets the scheduler gateway events are dispatched on for every bot using this coordinator, work on it must not block as that holds up dispatching for every bot sharing the
+	 * thread
+	 *
+	 * @return
+	 */
+	public Scheduler getEventScheduler() {
+		return eventScheduler;
+	}
+
+	/**
+	 * Gets how many lanes each bot's event worker pool spreads its keyed handlers over, one per event thread
+	 *
+	 * @return
+	 */
+	public int getEventLaneCount() {
+		return eventThreads;
+	}
+
+	/**
+	 * Gets the scheduler used for the framework's own delays and periodic work, tasks on it must not block
+	 *
+	 * @return
+	 */
+	public Scheduler getWorkScheduler() {
+		return workScheduler;
+	}
+
+	/**
+	 * Gets the scheduler for handlers that are allowed to block, such as user reaction callbacks, it grows threads as needed and drops them once they are idle
+	 *
+	 * @return
+	 */
+	public Scheduler getBlockingScheduler() {
+		return blockingScheduler;
+	}
+
+	/**
+	 * Gets the timer shared by every bot using this coordinator
+	 *
+	 * @return
+	 */
+	public HashedWheelTimer getTimer() {
+		return timer;
+	}
+
+	public void register(DiscordBotBase bot) {
+		bots.add(bot);
+	}
+
+	public void unregister(DiscordBotBase bot) {
+		bots.remove(bot);
+	}
+
+	public List<DiscordBotBase> getBots() {
+		return new ArrayList<DiscordBotBase>(bots);
+	}
+
+	/**
+	 * Stops the coordinator's threads, only to be used once every bot using it has been shut down
+	 */
+	public void shutdown() {
+		eventScheduler.dispose();
+		workScheduler.dispose();
+		blockingScheduler.dispose();
+		timer.stop();
+	}
+}
@@ -0,0 +1,181 @@
+package com.mjr.discordframework;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import discord4j.core.object.util.Snowflake;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Tracks a bot's startup, the readiness of each shard it runs, the warming of each shard's caches and how long each startup phase took
+ */
+public class DiscordBotStartup {
+	public static final Duration CACHE_WARMUP_TIMEOUT = Duration.ofSeconds(60);
+	public static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+	private final long startNanos = System.nanoTime();
+	private final Map<String, Duration> phaseTimings = Collections.synchronizedMap(new LinkedHashMap<String, Duration>());
+	private final Map<Integer, ShardStartup> shards = new ConcurrentHashMap<Integer, ShardStartup>();
+	private volatile Mono<Void> readiness = Mono.never();
+	private volatile Mono<Void> cacheWarmup = Mono.never();
+
+	/**
+	 * Record how long a startup phase took
+	 *
+	 * @param phase
+	 * @param phaseStartNanos System.nanoTime() when the phase started
+	 */
+	public void recordPhase(String phase, long phaseStartNanos) {
+		phaseTimings.put(phase, Duration.ofNanos(System.nanoTime() - phaseStartNanos));
+	}
+
+	/**
+	 * Gets a snapshot of how long each startup phase took, in the order the phases finished
+	 *
+	 * @return
+	 */
+	public Map<String, Duration> getPhaseTimings() {
+		synchronized (phaseTimings) {
+			return new LinkedHashMap<String, Duration>(phaseTimings);
+		}
+	}
+
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	/**
+	 * Gets a Mono that completes once every shard the bot runs has received the gateway READY event, errors if the bot could not be started, a shard could not log in or the
+	 * shards were not ready in time
+	 *
+	 * @return
+	 */
+	public Mono<Void> getReadiness() {
+		return readiness;
+	}
+
+	/**
+	 * Gets a Mono that completes once the caches of every guild sent in the READY events have been warmed, or the warmup timed out
+	 *
+	 * @return
+	 */
+	public Mono<Void> getCacheWarmup() {
+		return cacheWarmup;
+	}
+
+	public boolean isReady() {
+		for (ShardStartup shard : shards.values())
+			if (!shard.ready.isTerminated())
+				return false;
+		return !shards.isEmpty();
+	}
+
+	/**
+	 * Used locally to start tracking a shard
+	 *
+	 * @param shardID
+	 * @return
+	 */
+	ShardStartup addShard(int shardID) {
+		ShardStartup shard = new ShardStartup(shardID);
+		shards.put(shardID, shard);
+		return shard;
+	}
+
+	/**
+	 * Used locally when the bot could not be started at all, so anything waiting on its readiness or cache warmup is not left waiting forever
+	 *
+	 * @param error
+	 */
+	void fail(Throwable error) {
+		this.readiness = Mono.error(error);
+		this.cacheWarmup = Mono.error(error);
+	}
+
+	/**
+	 * Used locally once every shard has been added, builds the readiness and cache warmup Monos
+	 *
+	 * @param readyTimeout how long the shards have to all become ready before the readiness errors
+	 */
+	void finishSetup(Duration readyTimeout) {
+		List<Mono<Void>> ready = new ArrayList<Mono<Void>>();
+		List<Mono<Void>> warmed = new ArrayList<Mono<Void>>();
+		for (ShardStartup shard : shards.values()) {
+			ready.add(shard.ready);
+			warmed.add(shard.warmed.timeout(CACHE_WARMUP_TIMEOUT, Mono.empty()));
+		}
+		this.readiness = Mono.when(ready).timeout(readyTimeout).doOnSuccess(ignored -> recordPhase("ready", startNanos)).cache();
+		this.cacheWarmup = Mono.when(warmed).doOnSuccess(ignored -> recordPhase("cache warmup", startNanos)).cache();
+		readiness.subscribe(ignored -> {
+		}, error -> {
+		});
+		cacheWarmup.subscribe(ignored -> {
+		}, error -> {
+		});
+	}
+
+	/**
+	 * Startup state of one shard
+	 */
+	class ShardStartup {
+		private final int shardID;
+		private final MonoProcessor<Void> ready = MonoProcessor.create();
+		private final MonoProcessor<Void> warmed = MonoProcessor.create();
+		private final Set<Long> warmedGuilds = new HashSet<Long>();
+		private Set<Long> expectedGuilds;
+		private volatile long loginNanos;
+		private long readyNanos;
+
+		private ShardStartup(int shardID) {
+			this.shardID = shardID;
+		}
+
+		void onLogin() {
+			loginNanos = System.nanoTime();
+		}
+
+		/**
+		 * Used locally when the shard's login errors, fails the readiness and cache warmup if the shard never became ready
+		 *
+		 * @param error
+		 */
+		synchronized void onLoginFailed(Throwable error) {
+			if (!ready.isTerminated())
+				ready.onError(error);
+			if (!warmed.isTerminated())
+				warmed.onError(error);
+		}
+
+		void onReady(Set<Snowflake> guildIDs) {
+			recordPhase("shard " + shardID + " login to ready", loginNanos);
+			synchronized (this) {
+				readyNanos = System.nanoTime();
+				expectedGuilds = new HashSet<Long>();
+				for (Snowflake guildID : guildIDs)
+					expectedGuilds.add(guildID.asLong());
+				checkWarmed();
+			}
+			ready.onComplete();
+		}
+
+		synchronized void onGuildWarmed(Snowflake guildID) {
+			warmedGuilds.add(guildID.asLong());
+			checkWarmed();
+		}
+
+		private void checkWarmed() {
+			if (expectedGuilds != null && !warmed.isTerminated() && warmedGuilds.containsAll(expectedGuilds)) {
+				recordPhase("shard " + shardID + " cache warmup", readyNanos);
+				warmed.onComplete();
+			}
+		}
+	}
+}
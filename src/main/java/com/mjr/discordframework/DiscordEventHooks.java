@@ -1,5 +1,7 @@
 package com.mjr.discordframework;
 
+import java.util.function.Supplier;
+
 import com.mjr.discordframework.events.DiscordConnectedEvent;
 import com.mjr.discordframework.events.DiscordDebugOutputEvent;
 import com.mjr.discordframework.events.DiscordEvent;
@@ -11,25 +13,104 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
 public class DiscordEventHooks {
 
+	/**
+	 * Checks if a debug output message of the type would be consumed by anything, so callers can skip building it
+	 *
+	 * @param client
+	 * @param messageType
+	 * @return
+	 */
+	public static boolean isMessageEventEnabled(DiscordClient client, DiscordBotBase.DiscordMessageType messageType) {
+		return isMessageEventEnabled(DiscordBotBase.getBot(client), messageType);
+	}
+
+	/**
+	 * Checks if a debug output message of the type from a bot would be consumed by anything
+	 *
+	 * @param bot null for messages that do not belong to a bot
+	 * @param messageType
+	 * @return
+	 */
+	public static boolean isMessageEventEnabled(DiscordBotBase bot, DiscordBotBase.DiscordMessageType messageType) {
+		if (bot == null)
+			return DiscordListenerManager.hasEventListeners(DiscordEvent.DiscordEventType.DEBUG);
+		if (!DiscordListenerManager.hasEventListeners(DiscordEvent.DiscordEventType.DEBUG) && !bot.getListenerRegistry().hasEventListeners(DiscordEvent.DiscordEventType.DEBUG))
+			return false;
+		return bot.isMessageOutputEnabled(messageType);
+	}
+
 	public static void triggerMessageEvent(DiscordClient client, DiscordBotBase.DiscordMessageType messageType, String message) {
-		for (DiscordEvent event : DiscordListenerManager.getEventListeners()) {
-			if (DiscordEvent.DiscordEventType.DEBUG.getName().equalsIgnoreCase(event.eventType.getName()))
-				((DiscordDebugOutputEvent) event).onEvent(new DiscordDebugOutputEvent(client, messageType, message));
-		}
+		triggerMessageEvent(DiscordBotBase.getBot(client), client, messageType, message);
+	}
+
+	/**
+	 * Trigger a debug output message for a bot directly, used while the bot has no client its listeners can be found through such as when it fails to start
+	 *
+	 * @param bot
+	 * @param client null if the bot has no client yet
+	 * @param messageType
+	 * @param message
+	 */
+	public static void triggerMessageEvent(DiscordBotBase bot, DiscordClient client, DiscordBotBase.DiscordMessageType messageType, String message) {
+		if (!isMessageEventEnabled(bot, messageType))
+			return;
+		dispatchMessageEvent(bot, new DiscordDebugOutputEvent(client, messageType, message));
+	}
+
+	/**
+	 * Trigger a debug output message, the message is only built when there is a listener for it and the bot's output level allows it
+	 *
+	 * @param client
+	 * @param messageType
+	 * @param message
+	 */
+	public static void triggerMessageEvent(DiscordClient client, DiscordBotBase.DiscordMessageType messageType, Supplier<String> message) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		if (!isMessageEventEnabled(bot, messageType))
+			return;
+		dispatchMessageEvent(bot, new DiscordDebugOutputEvent(client, messageType, message.get()));
+	}
+
+	private static void dispatchMessageEvent(DiscordBotBase bot, DiscordDebugOutputEvent output) {
+		for (DiscordDebugOutputEvent listener : DiscordListenerManager.getDebugListeners())
+			listener.onEvent(output);
+		if (bot != null)
+			for (DiscordDebugOutputEvent listener : bot.getListenerRegistry().getDebugListeners())
+				listener.onEvent(output);
 	}
 
 	public static void triggerMessageErrorEvent(DiscordClient client, String message, HttpResponseStatus httpResponseStatus) {
-		for (DiscordEvent event : DiscordListenerManager.getEventListeners()) {
-			if (DiscordEvent.DiscordEventType.MESSAGE_ERROR.getName().equalsIgnoreCase(event.eventType.getName()))
-				((DiscordMessageErrorEvent) event).onEvent(new DiscordMessageErrorEvent(client, message, httpResponseStatus));
-		}
+		DiscordListenerRegistry registry = getBotRegistry(client);
+		if (!DiscordListenerManager.hasEventListeners(DiscordEvent.DiscordEventType.MESSAGE_ERROR) && (registry == null || !registry.hasEventListeners(DiscordEvent.DiscordEventType.MESSAGE_ERROR)))
+			return;
+		DiscordMessageErrorEvent output = new DiscordMessageErrorEvent(client, message, httpResponseStatus);
+		for (DiscordMessageErrorEvent listener : DiscordListenerManager.getMessageErrorListeners())
+			listener.onEvent(output);
+		if (registry != null)
+			for (DiscordMessageErrorEvent listener : registry.getMessageErrorListeners())
+				listener.onEvent(output);
 	}
 
 	public static void triggerClientConnectedEvent(DiscordClient client, EventDispatcher dispatcher) {
-		for (DiscordEvent event : DiscordListenerManager.getEventListeners()) {
-			if (DiscordEvent.DiscordEventType.CONNECTED.getName().equalsIgnoreCase(event.eventType.getName()))
-				((DiscordConnectedEvent) event).onEvent(new DiscordConnectedEvent(client, dispatcher));
-		}
+		DiscordListenerRegistry registry = getBotRegistry(client);
+		if (!DiscordListenerManager.hasEventListeners(DiscordEvent.DiscordEventType.CONNECTED) && (registry == null || !registry.hasEventListeners(DiscordEvent.DiscordEventType.CONNECTED)))
+			return;
+		DiscordConnectedEvent output = new DiscordConnectedEvent(client, dispatcher);
+		for (DiscordConnectedEvent listener : DiscordListenerManager.getConnectedListeners())
+			listener.onEvent(output);
+		if (registry != null)
+			for (DiscordConnectedEvent listener : registry.getConnectedListeners())
+				listener.onEvent(output);
 	}
 
+	/**
+	 * Used locally to get the listeners scoped to the bot that owns a client
+	 *
+	 * @param client
+	 * @return null if the client has no bot
+	 */
+	private static DiscordListenerRegistry getBotRegistry(DiscordClient client) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		return bot == null ? null : bot.getListenerRegistry();
+	}
 }
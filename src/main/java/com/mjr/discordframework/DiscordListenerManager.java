@@ -1,18 +1,90 @@
 package com.mjr.discordframework;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import com.mjr.discordframework.events.DiscordConnectedEvent;
+import com.mjr.discordframework.events.DiscordDebugOutputEvent;
 import com.mjr.discordframework.events.DiscordEvent;
+import com.mjr.discordframework.events.DiscordMessageErrorEvent;
 
+/**
+ * Process wide listeners, these receive the events of every bot in the JVM. Listeners that should only receive the events of one bot are registered on
+ * {@link DiscordBotBase#getListenerRegistry()} instead
+ */
 public class DiscordListenerManager {
-	private static List<DiscordEvent> listeners = new ArrayList<DiscordEvent>();
+	private static final DiscordListenerRegistry globalRegistry = new DiscordListenerRegistry();
 
+	/**
+	 * Gets the registry holding the process wide listeners
+	 *
+	 * @return
+	 */
+	public static DiscordListenerRegistry getGlobalRegistry() {
+		return globalRegistry;
+	}
+
+	/**
+	 * Register a listener under the event type it was created with
+	 *
+	 * @param event
+	 */
 	public static void registerEventHandler(DiscordEvent event) {
-		listeners.add(event);
+		globalRegistry.registerEventHandler(event);
+	}
+
+	/**
+	 * Unregister a listener from the event type it was created with
+	 *
+	 * @param event
+	 */
+	public static void unregisterEventHandler(DiscordEvent event) {
+		globalRegistry.unregisterEventHandler(event);
+	}
+
+	public static void registerDebugListener(DiscordDebugOutputEvent event) {
+		globalRegistry.registerDebugListener(event);
+	}
+
+	public static void registerMessageErrorListener(DiscordMessageErrorEvent event) {
+		globalRegistry.registerMessageErrorListener(event);
+	}
+
+	public static void registerConnectedListener(DiscordConnectedEvent event) {
+		globalRegistry.registerConnectedListener(event);
+	}
+
+	public static List<DiscordDebugOutputEvent> getDebugListeners() {
+		return globalRegistry.getDebugListeners();
+	}
+
+	public static List<DiscordMessageErrorEvent> getMessageErrorListeners() {
+		return globalRegistry.getMessageErrorListeners();
+	}
+
+	public static List<DiscordConnectedEvent> getConnectedListeners() {
+		return globalRegistry.getConnectedListeners();
+	}
+
+	public static boolean hasEventListeners(DiscordEvent.DiscordEventType eventType) {
+		return globalRegistry.hasEventListeners(eventType);
+	}
+
+	/**
+	 * Gets the listeners registered for an event type
+	 *
+	 * @param eventType
+	 * @return
+	 */
+	public static List<? extends DiscordEvent> getEventListeners(DiscordEvent.DiscordEventType eventType) {
+		return globalRegistry.getEventListeners(eventType);
 	}
 
+	/**
+	 * Gets a snapshot of the listeners registered for every event type
+	 *
+	 * @return
+	 */
 	public static List<DiscordEvent> getEventListeners() {
-		return listeners;
+		return globalRegistry.getEventListeners();
 	}
 }
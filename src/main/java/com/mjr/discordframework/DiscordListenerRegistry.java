@@ -0,0 +1,110 @@
+package com.mjr.discordframework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.mjr.discordframework.events.DiscordConnectedEvent;
+import com.mjr.discordframework.events.DiscordDebugOutputEvent;
+import com.mjr.discordframework.events.DiscordEvent;
+import com.mjr.discordframework.events.DiscordMessageErrorEvent;
+
+/**
+ * A set of listeners, either the process wide set held by {@link DiscordListenerManager} or the set scoped to a single bot. Listeners are held in one copy on write list per event
+ * type, so dispatch only walks the listeners for its own type and listeners can be registered or unregistered while events are firing
+ */
+public class DiscordListenerRegistry {
+	private final CopyOnWriteArrayList<DiscordDebugOutputEvent> debugListeners = new CopyOnWriteArrayList<DiscordDebugOutputEvent>();
+	private final CopyOnWriteArrayList<DiscordMessageErrorEvent> messageErrorListeners = new CopyOnWriteArrayList<DiscordMessageErrorEvent>();
+	private final CopyOnWriteArrayList<DiscordConnectedEvent> connectedListeners = new CopyOnWriteArrayList<DiscordConnectedEvent>();
+
+	private final Map<DiscordEvent.DiscordEventType, CopyOnWriteArrayList<? extends DiscordEvent>> listeners = new EnumMap<DiscordEvent.DiscordEventType, CopyOnWriteArrayList<? extends DiscordEvent>>(DiscordEvent.DiscordEventType.class);
+
+	public DiscordListenerRegistry() {
+		super();
+		listeners.put(DiscordEvent.DiscordEventType.DEBUG, debugListeners);
+		listeners.put(DiscordEvent.DiscordEventType.MESSAGE_ERROR, messageErrorListeners);
+		listeners.put(DiscordEvent.DiscordEventType.CONNECTED, connectedListeners);
+	}
+
+	/**
+	 * Register a listener under the event type it was created with
+	 *
+	 * @param event
+	 */
+	public void registerEventHandler(DiscordEvent event) {
+		switch (event.eventType) {
+		case DEBUG:
+			registerDebugListener((DiscordDebugOutputEvent) event);
+			break;
+		case MESSAGE_ERROR:
+			registerMessageErrorListener((DiscordMessageErrorEvent) event);
+			break;
+		case CONNECTED:
+			registerConnectedListener((DiscordConnectedEvent) event);
+			break;
+		}
+	}
+
+	/**
+	 * Unregister a listener from the event type it was created with
+	 *
+	 * @param event
+	 */
+	public void unregisterEventHandler(DiscordEvent event) {
+		listeners.get(event.eventType).remove(event);
+	}
+
+	public void registerDebugListener(DiscordDebugOutputEvent event) {
+		debugListeners.add(event);
+	}
+
+	public void registerMessageErrorListener(DiscordMessageErrorEvent event) {
+		messageErrorListeners.add(event);
+	}
+
+	public void registerConnectedListener(DiscordConnectedEvent event) {
+		connectedListeners.add(event);
+	}
+
+	public List<DiscordDebugOutputEvent> getDebugListeners() {
+		return debugListeners;
+	}
+
+	public List<DiscordMessageErrorEvent> getMessageErrorListeners() {
+		return messageErrorListeners;
+	}
+
+	public List<DiscordConnectedEvent> getConnectedListeners() {
+		return connectedListeners;
+	}
+
+	public boolean hasEventListeners(DiscordEvent.DiscordEventType eventType) {
+		return !listeners.get(eventType).isEmpty();
+	}
+
+	/**
+	 * Gets the listeners registered for an event type
+	 *
+	 * @param eventType
+	 * @return
+	 */
+	public List<? extends DiscordEvent> getEventListeners(DiscordEvent.DiscordEventType eventType) {
+		return Collections.unmodifiableList(listeners.get(eventType));
+	}
+
+	/**
+	 * Gets a snapshot of the listeners registered for every event type
+	 *
+	 * @return
+	 */
+	public List<DiscordEvent> getEventListeners() {
+		List<DiscordEvent> all = new ArrayList<DiscordEvent>();
+		for (CopyOnWriteArrayList<? extends DiscordEvent> typeListeners : listeners.values())
+			all.addAll(typeListeners);
+		return all;
+	}
+}
@@ -0,0 +1,264 @@
+package com.mjr.discordframework.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mjr.discordframework.DiscordBotBase;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.channel.CategoryDeleteEvent;
+import discord4j.core.event.domain.channel.CategoryUpdateEvent;
+import discord4j.core.event.domain.channel.NewsChannelDeleteEvent;
+import discord4j.core.event.domain.channel.NewsChannelUpdateEvent;
+import discord4j.core.event.domain.channel.PrivateChannelDeleteEvent;
+import discord4j.core.event.domain.channel.StoreChannelDeleteEvent;
+import discord4j.core.event.domain.channel.StoreChannelUpdateEvent;
+import discord4j.core.event.domain.channel.TextChannelDeleteEvent;
+import discord4j.core.event.domain.channel.TextChannelUpdateEvent;
+import discord4j.core.event.domain.channel.VoiceChannelDeleteEvent;
+import discord4j.core.event.domain.channel.VoiceChannelUpdateEvent;
+import discord4j.core.object.entity.Channel;
+import discord4j.core.object.entity.GuildChannel;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded in process cache of channels for a client, keyed by channel id. Entries are dropped when Discord sends a channel update or delete event for them
+ */
+public class DiscordChannelCache {
+	public static final int DEFAULT_MAX_SIZE = 2000;
+
+	private static final Map<DiscordClient, DiscordChannelCache> caches = new ConcurrentHashMap<DiscordClient, DiscordChannelCache>();
+
+	private final Disposable.Composite subscriptions = Disposables.composite();
+	private final DiscordClient client;
+	private final Map<Long, CachedChannel> channels;
+
+	public DiscordChannelCache(DiscordClient client, final int maxSize) {
+		super();
+		this.client = client;
+		this.channels = Collections.synchronizedMap(new LinkedHashMap<Long, CachedChannel>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, CachedChannel> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * Gets the channel cache for a client, creating it and registering its invalidation events on first use
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static DiscordChannelCache getCache(DiscordClient client) {
+		return caches.computeIfAbsent(client, key -> {
+			DiscordChannelCache cache = new DiscordChannelCache(key, DEFAULT_MAX_SIZE);
+			cache.registerEvents(key.getEventDispatcher());
+			return cache;
+		});
+	}
+
+	/**
+	 * Used to drop cached channels when they are changed or deleted on Discord
+	 *
+	 * @param dispatcher
+	 */
+	public void registerEvents(EventDispatcher dispatcher) {
+		subscriptions.add(dispatcher.on(TextChannelUpdateEvent.class).subscribe(event -> invalidate(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(TextChannelDeleteEvent.class).subscribe(event -> invalidate(event.getChannel().getId())));
+		subscriptions.add(dispatcher.on(NewsChannelUpdateEvent.class).subscribe(event -> invalidate(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(NewsChannelDeleteEvent.class).subscribe(event -> invalidate(event.getChannel().getId())));
+		subscriptions.add(dispatcher.on(VoiceChannelUpdateEvent.class).subscribe(event -> invalidate(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(VoiceChannelDeleteEvent.class).subscribe(event -> invalidate(event.getChannel().getId())));
+		subscriptions.add(dispatcher.on(StoreChannelUpdateEvent.class).subscribe(event -> invalidate(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(StoreChannelDeleteEvent.class).subscribe(event -> invalidate(event.getChannel().getId())));
+		subscriptions.add(dispatcher.on(CategoryUpdateEvent.class).subscribe(event -> invalidate(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(CategoryDeleteEvent.class).subscribe(event -> invalidate(event.getCategory().getId())));
+		subscriptions.add(dispatcher.on(PrivateChannelDeleteEvent.class).subscribe(event -> invalidate(event.getChannel().getId())));
+	}
+
+	/**
+	 * Gets a cached channel, for sharded bots the caches of the bot's other shards are checked as well since guild channels are cached on the shard that owns their guild
+	 *
+	 * @param channelID
+	 * @return null if the channel is not cached
+	 */
+	public CachedChannel get(Snowflake channelID) {
+		CachedChannel cached = channels.get(channelID.asLong());
+		if (cached != null)
+			return cached;
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		if (bot == null || bot.getShardCount() <= 1)
+			return null;
+		for (DiscordClient shardClient : bot.getShardClients()) {
+			DiscordChannelCache shardCache = shardClient == client ? null : caches.get(shardClient);
+			cached = shardCache == null ? null : shardCache.channels.get(channelID.asLong());
+			if (cached != null)
+				return cached;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets a channel, using the cached channel when there is one otherwise fetching and caching it
+	 *
+	 * @param channelID
+	 * @return
+	 */
+	public Mono<Channel> getChannel(Snowflake channelID) {
+		CachedChannel cached = get(channelID);
+		if (cached != null)
+			return Mono.just(cached.getChannel());
+		return client.getChannelById(channelID).doOnNext(this::put);
+	}
+
+	/**
+	 * Caches every channel the Mono emits, the returned Mono only resolves the channel once however many times it is subscribed
+	 *
+	 * @param channel
+	 * @return
+	 */
+	public Mono<Channel> resolve(Mono<Channel> channel) {
+		return channel.doOnNext(this::put).cache();
+	}
+
+	/**
+	 * Gets the name of a channel for debug output, guild channels use their name and other channels use their id
+	 *
+	 * @param channelID
+	 * @return
+	 */
+	public Mono<String> getChannelName(Snowflake channelID) {
+		CachedChannel cached = get(channelID);
+		if (cached != null)
+			return Mono.just(cached.getDisplayName());
+		return getChannel(channelID).map(DiscordChannelCache::getDisplayName).defaultIfEmpty(channelID.asString());
+	}
+
+	/**
+	 * Gets the name of a channel for debug output, guild channels use their name and other channels use their id
+	 *
+	 * @param channel
+	 * @return
+	 */
+	public static String getDisplayName(Channel channel) {
+		if (channel instanceof GuildChannel)
+			return ((GuildChannel) channel).getName();
+		return channel.getId().asString();
+	}
+
+	/**
+	 * Caches a channel, guild channels are cached on the shard that owns their guild so that shard's channel events keep them up to date
+	 *
+	 * @param channel
+	 */
+	public void put(Channel channel) {
+		getOwningCache(channel).channels.put(channel.getId().asLong(), new CachedChannel(channel));
+	}
+
+	/**
+	 * Used locally to get the cache of the shard that owns a channel's guild
+	 *
+	 * @param channel
+	 * @return this cache for channels outside a guild or bots that are not sharded
+	 */
+	private DiscordChannelCache getOwningCache(Channel channel) {
+		if (!(channel instanceof GuildChannel))
+			return this;
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		DiscordClient shardClient = bot == null ? null : bot.getClientForGuild(((GuildChannel) channel).getGuildId());
+		return shardClient == null || shardClient == client ? this : getCache(shardClient);
+	}
+
+	public void invalidate(Snowflake channelID) {
+		channels.remove(channelID.asLong());
+	}
+
+	/**
+	 * Removes the cache of a client and stops listening to its events, called once the client has logged out
+	 *
+	 * @param client
+	 */
+	public static void release(DiscordClient client) {
+		DiscordChannelCache removed = caches.remove(client);
+		if (removed != null)
+			removed.dispose();
+	}
+
+	/**
+	 * Stops listening to events and empties the cache
+	 */
+	public void dispose() {
+		subscriptions.dispose();
+		clear();
+	}
+
+	public void clear() {
+		channels.clear();
+	}
+
+	public int size() {
+		return channels.size();
+	}
+
+	/**
+	 * Channel held by the {@link DiscordChannelCache}, along with its type, name and guild
+	 */
+	public static class CachedChannel {
+		private final Channel channel;
+		private final Channel.Type type;
+		private final String name;
+		private final Snowflake guildID;
+
+		public CachedChannel(Channel channel) {
+			super();
+			this.channel = channel;
+			this.type = channel.getType();
+			if (channel instanceof GuildChannel) {
+				this.name = ((GuildChannel) channel).getName();
+				this.guildID = ((GuildChannel) channel).getGuildId();
+			} else {
+				this.name = null;
+				this.guildID = null;
+			}
+		}
+
+		public Channel getChannel() {
+			return channel;
+		}
+
+		public Snowflake getId() {
+			return channel.getId();
+		}
+
+		public Channel.Type getType() {
+			return type;
+		}
+
+		/**
+		 * @return null for channels that are not in a guild
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return null for channels that are not in a guild
+		 */
+		public Snowflake getGuildID() {
+			return guildID;
+		}
+
+		public String getDisplayName() {
+			return name != null ? name : channel.getId().asString();
+		}
+	}
+}
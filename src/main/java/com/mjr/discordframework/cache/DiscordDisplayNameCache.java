@@ -0,0 +1,142 @@
+package com.mjr.discordframework.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.util.DiscordNameSanitizer;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.guild.MemberLeaveEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+/**
+ * Memoizes the sanitized display name of members for a client, keyed by member id. Entries are dropped when Discord sends a member update or leave event for them, and an entry
+ * is only used while the member's display name is still the one it was made from. The cache is cleared once it holds maxSize names
+ */
+public class DiscordDisplayNameCache {
+	public static final int DEFAULT_MAX_SIZE = 50000;
+
+	private static final Map<DiscordClient, DiscordDisplayNameCache> caches = new ConcurrentHashMap<DiscordClient, DiscordDisplayNameCache>();
+
+	private final Disposable.Composite subscriptions = Disposables.composite();
+	private final NonBlockingHashMapLong<CachedName> names = new NonBlockingHashMapLong<CachedName>();
+	private final int maxSize;
+	private volatile DiscordNameSanitizer.Mode mode = DiscordNameSanitizer.Mode.ASCII;
+
+	public DiscordDisplayNameCache(int maxSize) {
+		super();
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets the display name cache for a client, creating it and registering its invalidation events on first use
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static DiscordDisplayNameCache getCache(DiscordClient client) {
+		return caches.computeIfAbsent(client, key -> {
+			DiscordDisplayNameCache cache = new DiscordDisplayNameCache(DEFAULT_MAX_SIZE);
+			cache.registerEvents(key.getEventDispatcher());
+			return cache;
+		});
+	}
+
+	/**
+	 * Used to drop cached names when members change or leave on Discord
+	 *
+	 * @param dispatcher
+	 */
+	public void registerEvents(EventDispatcher dispatcher) {
+		subscriptions.add(dispatcher.on(MemberUpdateEvent.class).subscribe(event -> invalidate(event.getMemberId())));
+		subscriptions.add(dispatcher.on(MemberLeaveEvent.class).subscribe(event -> invalidate(event.getUser().getId())));
+	}
+
+	/**
+	 * Gets the display name of a member without emotes, sanitizing it only when it is not cached or has changed
+	 *
+	 * @param member
+	 * @return
+	 */
+	public String getDisplayNameWithoutEmotes(Member member) {
+		String displayName = member.getDisplayName();
+		long memberID = member.getId().asLong();
+		long guildID = member.getGuildId().asLong();
+		DiscordNameSanitizer.Mode currentMode = mode;
+		CachedName cached = names.get(memberID);
+		if (cached != null && cached.guildID == guildID && cached.mode == currentMode && cached.displayName.equals(displayName))
+			return cached.sanitized;
+		String sanitized = DiscordNameSanitizer.sanitize(displayName, currentMode);
+		if (names.size() >= maxSize)
+			names.clear();
+		names.put(memberID, new CachedName(guildID, currentMode, displayName, sanitized));
+		return sanitized;
+	}
+
+	public DiscordNameSanitizer.Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Sets how names are sanitized, clears the cached names
+	 *
+	 * @param mode
+	 */
+	public void setMode(DiscordNameSanitizer.Mode mode) {
+		this.mode = mode;
+		names.clear();
+	}
+
+	public void invalidate(Snowflake memberID) {
+		names.remove(memberID.asLong());
+	}
+
+	/**
+	 * Removes the cache of a client and stops listening to its events, called once the client has logged out
+	 *
+	 * @param client
+	 */
+	public static void release(DiscordClient client) {
+		DiscordDisplayNameCache removed = caches.remove(client);
+		if (removed != null)
+			removed.dispose();
+	}
+
+	/**
+	 * Stops listening to events and empties the cache
+	 */
+	public void dispose() {
+		subscriptions.dispose();
+		clear();
+	}
+
+	public void clear() {
+		names.clear();
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	private static class CachedName {
+		private final long guildID;
+		private final DiscordNameSanitizer.Mode mode;
+		private final String displayName;
+		private final String sanitized;
+
+		public CachedName(long guildID, DiscordNameSanitizer.Mode mode, String displayName, String sanitized) {
+			super();
+			this.guildID = guildID;
+			this.mode = mode;
+			this.displayName = displayName;
+			this.sanitized = sanitized;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.mjr.discordframework.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mjr.discordframework.DiscordBotBase;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.message.MessageBulkDeleteEvent;
+import discord4j.core.event.domain.message.MessageDeleteEvent;
+import discord4j.core.event.domain.message.MessageUpdateEvent;
+import discord4j.core.event.domain.message.ReactionAddEvent;
+import discord4j.core.event.domain.message.ReactionRemoveAllEvent;
+import discord4j.core.event.domain.message.ReactionRemoveEvent;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded in process cache of the messages sent and edited through the framework for a bot, keyed by message id, so they can be edited or deleted without fetching them first.
+ * A sharded bot has one cache listening to every shard it runs. Entries are dropped when Discord sends a message update, reaction or delete event for them, so a cached message
+ * never serves reactions or embeds that have since changed
+ */
+public class DiscordMessageCache {
+	public static final int DEFAULT_MAX_SIZE = 5000;
+
+	private static final Map<DiscordBotBase, DiscordMessageCache> caches = new ConcurrentHashMap<DiscordBotBase, DiscordMessageCache>();
+
+	private final Disposable.Composite subscriptions = Disposables.composite();
+	private final DiscordClient client;
+	private final Map<Long, Message> messages;
+
+	public DiscordMessageCache(DiscordClient client, final int maxSize) {
+		super();
+		this.client = client;
+		this.messages = Collections.synchronizedMap(new LinkedHashMap<Long, Message>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Message> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * Gets the message cache of the bot that owns a client. A client without a bot, such as one whose bot has been shut down, gets a cache that holds nothing and listens to
+	 * nothing so late calls do not subscribe to a dead client
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static DiscordMessageCache getCache(DiscordClient client) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		if (bot == null)
+			return new DiscordMessageCache(client, 0);
+		return getCache(bot);
+	}
+
+	/**
+	 * Gets the message cache for a bot, creating it and registering its invalidation events on first use. The cache is registered on every shard's dispatcher so a message is
+	 * dropped whichever shard its events arrive on
+	 *
+	 * @param bot
+	 * @return
+	 */
+	public static DiscordMessageCache getCache(DiscordBotBase bot) {
+		return caches.computeIfAbsent(bot, key -> {
+			DiscordMessageCache cache = new DiscordMessageCache(key.getClient(), DEFAULT_MAX_SIZE);
+			for (DiscordClient shardClient : key.getShardClients())
+				cache.registerEvents(shardClient.getEventDispatcher());
+			return cache;
+		});
+	}
+
+	/**
+	 * Used to drop cached messages when they are changed, reacted to or deleted on Discord. Edits made through the framework are cached again once the edit returns
+	 *
+	 * @param dispatcher
+	 */
+	public void registerEvents(EventDispatcher dispatcher) {
+		subscriptions.add(dispatcher.on(MessageDeleteEvent.class).subscribe(event -> invalidate(event.getMessageId())));
+		subscriptions.add(dispatcher.on(MessageBulkDeleteEvent.class).subscribe(event -> {
+			for (Snowflake messageID : event.getMessageIds())
+				invalidate(messageID);
+		}));
+		subscriptions.add(dispatcher.on(MessageUpdateEvent.class).subscribe(event -> invalidate(event.getMessageId())));
+		subscriptions.add(dispatcher.on(ReactionAddEvent.class).subscribe(event -> invalidate(event.getMessageId())));
+		subscriptions.add(dispatcher.on(ReactionRemoveEvent.class).subscribe(event -> invalidate(event.getMessageId())));
+		subscriptions.add(dispatcher.on(ReactionRemoveAllEvent.class).subscribe(event -> invalidate(event.getMessageId())));
+	}
+
+	/**
+	 * Gets a cached message
+	 *
+	 * @param messageID
+	 * @return null if the message is not cached
+	 */
+	public Message get(Snowflake messageID) {
+		return messages.get(messageID.asLong());
+	}
+
+	/**
+	 * Gets a message, using the cached message when there is one otherwise fetching it
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @return
+	 */
+	public Mono<Message> getMessage(Snowflake channelID, Snowflake messageID) {
+		Message cached = get(messageID);
+		if (cached != null)
+			return Mono.just(cached);
+		return client.getMessageById(channelID, messageID);
+	}
+
+	public void put(Message message) {
+		messages.put(message.getId().asLong(), message);
+	}
+
+	public void invalidate(Snowflake messageID) {
+		messages.remove(messageID.asLong());
+	}
+
+	/**
+	 * Removes the cache of a bot and stops listening to its shards' events, called once the bot has been shut down
+	 *
+	 * @param bot
+	 */
+	public static void release(DiscordBotBase bot) {
+		DiscordMessageCache removed = caches.remove(bot);
+		if (removed != null)
+			removed.dispose();
+	}
+
+	/**
+	 * Stops listening to events and empties the cache
+	 */
+	public void dispose() {
+		subscriptions.dispose();
+		clear();
+	}
+
+	public void clear() {
+		messages.clear();
+	}
+
+	public int size() {
+		return messages.size();
+	}
+}
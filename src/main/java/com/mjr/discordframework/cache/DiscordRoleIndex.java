@@ -0,0 +1,255 @@
+package com.mjr.discordframework.cache;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.guild.GuildDeleteEvent;
+import discord4j.core.event.domain.role.RoleCreateEvent;
+import discord4j.core.event.domain.role.RoleDeleteEvent;
+import discord4j.core.event.domain.role.RoleUpdateEvent;
+import discord4j.core.object.entity.Guild;
+import discord4j.core.object.entity.Role;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per guild index of role names to role ids for a client. A guild's index is built the first time one of its roles is looked up, or when its caches are warmed, and is then kept
+ * current by the role create, update and delete events so lookups never go back to Discord
+ */
+public class DiscordRoleIndex {
+	private static final Map<DiscordClient, DiscordRoleIndex> indexes = new ConcurrentHashMap<DiscordClient, DiscordRoleIndex>();
+
+	private final Disposable.Composite subscriptions = Disposables.composite();
+	private final DiscordClient client;
+	private final Map<Long, GuildRoles> guilds = new ConcurrentHashMap<Long, GuildRoles>();
+	private final Map<Long, Mono<GuildRoles>> loading = new ConcurrentHashMap<Long, Mono<GuildRoles>>();
+	private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<Long, AtomicLong>();
+
+	public DiscordRoleIndex(DiscordClient client) {
+		super();
+		this.client = client;
+	}
+
+	/**
+	 * Gets the role index for a client, creating it and registering its events on first use. Guilds should be looked up on the index of the shard client that owns them so the
+	 * index receives their role events
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static DiscordRoleIndex getIndex(DiscordClient client) {
+		return indexes.computeIfAbsent(client, key -> {
+			DiscordRoleIndex index = new DiscordRoleIndex(key);
+			index.registerEvents(key.getEventDispatcher());
+			return index;
+		});
+	}
+
+	/**
+	 * Used to keep the indexed guilds current when their roles change on Discord
+	 *
+	 * @param dispatcher
+	 */
+	public void registerEvents(EventDispatcher dispatcher) {
+		subscriptions.add(dispatcher.on(RoleCreateEvent.class).subscribe(event -> onRoleChanged(event.getGuildId(), event.getRole())));
+		subscriptions.add(dispatcher.on(RoleUpdateEvent.class).subscribe(event -> onRoleChanged(event.getCurrent().getGuildId(), event.getCurrent())));
+		subscriptions.add(dispatcher.on(RoleDeleteEvent.class).subscribe(event -> onRoleDeleted(event.getGuildId(), event.getRoleId())));
+		subscriptions.add(dispatcher.on(GuildDeleteEvent.class).subscribe(event -> onGuildDeleted(event.getGuildId())));
+	}
+
+	/**
+	 * Gets the id of a role by its name, ignoring case. The guild's roles are fetched once if the guild is not indexed yet
+	 *
+	 * @param guildID
+	 * @param name
+	 * @return empty if the guild has no role with that name
+	 */
+	public Mono<Snowflake> getRoleID(Snowflake guildID, String name) {
+		GuildRoles roles = guilds.get(guildID.asLong());
+		if (roles != null)
+			return Mono.justOrEmpty(roles.get(name));
+		return load(guildID).flatMap(loaded -> Mono.justOrEmpty(loaded.get(name)));
+	}
+
+	/**
+	 * Gets the id of a role by its name, ignoring case. Only blocks the first time a guild that is not indexed yet is looked up
+	 *
+	 * @param guildID
+	 * @param name
+	 * @return
+	 */
+	public Optional<Snowflake> getRoleIDNow(Snowflake guildID, String name) {
+		GuildRoles roles = guilds.get(guildID.asLong());
+		if (roles != null)
+			return Optional.ofNullable(roles.get(name));
+		return getRoleID(guildID, name).blockOptional();
+	}
+
+	/**
+	 * Gets the id of a role by its name from the index only, never blocks or fetches
+	 *
+	 * @param guildID
+	 * @param name
+	 * @return empty if the guild is not indexed yet or has no role with that name
+	 */
+	public Optional<Snowflake> getCachedRoleID(Snowflake guildID, String name) {
+		GuildRoles roles = guilds.get(guildID.asLong());
+		return roles == null ? Optional.empty() : Optional.ofNullable(roles.get(name));
+	}
+
+	/**
+	 * Indexes the roles of a guild, replacing any index the guild already has
+	 *
+	 * @param guild
+	 * @return
+	 */
+	public Mono<Void> index(Guild guild) {
+		return index(guild.getId(), guild.getRoles()).then();
+	}
+
+	public boolean isIndexed(Snowflake guildID) {
+		return guilds.containsKey(guildID.asLong());
+	}
+
+	public void invalidate(Snowflake guildID) {
+		guilds.remove(guildID.asLong());
+	}
+
+	/**
+	 * Removes the index of a client and stops listening to its events, called once the client has logged out
+	 *
+	 * @param client
+	 */
+	public static void release(DiscordClient client) {
+		DiscordRoleIndex removed = indexes.remove(client);
+		if (removed != null)
+			removed.dispose();
+	}
+
+	/**
+	 * Stops listening to events and empties the index
+	 */
+	public void dispose() {
+		subscriptions.dispose();
+		clear();
+	}
+
+	public void clear() {
+		guilds.clear();
+		generations.clear();
+	}
+
+	public int size() {
+		return guilds.size();
+	}
+
+	/**
+	 * Used locally to fetch and index a guild's roles, lookups that arrive while the guild is being fetched share the same fetch
+	 *
+	 * @param guildID
+	 * @return
+	 */
+	private Mono<GuildRoles> load(Snowflake guildID) {
+		return loading.computeIfAbsent(guildID.asLong(), key -> index(guildID, client.getGuildById(guildID).flatMapMany(Guild::getRoles)).doFinally(signal -> loading.remove(key))
+				.cache());
+	}
+
+	/**
+	 * Used locally to build a guild's index from its roles, if a role event for the same guild arrives during the fetch the result is not kept as it may already be out of date.
+	 * Events for other guilds do not affect the fetch
+	 *
+	 * @param guildID
+	 * @param roles
+	 * @return
+	 */
+	private Mono<GuildRoles> index(Snowflake guildID, Flux<Role> roles) {
+		return Mono.defer(() -> {
+			GuildRoles building = new GuildRoles();
+			AtomicLong generation = getGeneration(guildID);
+			long generationBefore = generation.get();
+			guilds.remove(guildID.asLong());
+			return roles.doOnNext(role -> building.put(role.getId().asLong(), role.getName())).then(Mono.fromCallable(() -> {
+				if (generation.get() == generationBefore && generations.get(guildID.asLong()) == generation)
+					guilds.put(guildID.asLong(), building);
+				return building;
+			}));
+		});
+	}
+
+	private void onRoleChanged(Snowflake guildID, Role role) {
+		GuildRoles roles = guilds.get(guildID.asLong());
+		if (roles != null)
+			roles.put(role.getId().asLong(), role.getName());
+		else
+			getGeneration(guildID).incrementAndGet();
+	}
+
+	private void onRoleDeleted(Snowflake guildID, Snowflake roleID) {
+		GuildRoles roles = guilds.get(guildID.asLong());
+		if (roles != null)
+			roles.remove(roleID.asLong());
+		else
+			getGeneration(guildID).incrementAndGet();
+	}
+
+	/**
+	 * Used locally to drop a guild the client has left, its generation is bumped before it is removed so a fetch still running for the guild is not kept
+	 *
+	 * @param guildID
+	 */
+	private void onGuildDeleted(Snowflake guildID) {
+		AtomicLong generation = generations.remove(guildID.asLong());
+		if (generation != null)
+			generation.incrementAndGet();
+		invalidate(guildID);
+	}
+
+	/**
+	 * Used locally to get the counter of role events a guild has had while it was not indexed
+	 *
+	 * @param guildID
+	 * @return
+	 */
+	private AtomicLong getGeneration(Snowflake guildID) {
+		return generations.computeIfAbsent(guildID.asLong(), key -> new AtomicLong());
+	}
+
+	/**
+	 * Lowercased role name to role id for one guild, when roles share a name the oldest role wins
+	 */
+	private static class GuildRoles {
+		private final Map<Long, String> namesByID = new HashMap<Long, String>();
+		private final Map<String, Long> idsByName = new HashMap<String, Long>();
+
+		public synchronized Snowflake get(String name) {
+			Long roleID = idsByName.get(name.toLowerCase(Locale.ROOT));
+			return roleID == null ? null : Snowflake.of(roleID);
+		}
+
+		public synchronized void put(long roleID, String name) {
+			remove(roleID);
+			String key = name.toLowerCase(Locale.ROOT);
+			namesByID.put(roleID, key);
+			idsByName.merge(key, roleID, Math::min);
+		}
+
+		public synchronized void remove(long roleID) {
+			String key = namesByID.remove(roleID);
+			if (key == null || idsByName.get(key) != roleID)
+				return;
+			idsByName.remove(key);
+			for (Map.Entry<Long, String> entry : namesByID.entrySet())
+				if (entry.getValue().equals(key))
+					idsByName.merge(key, entry.getKey(), Math::min);
+		}
+	}
+}
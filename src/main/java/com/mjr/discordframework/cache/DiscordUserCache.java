@@ -0,0 +1,275 @@
+package com.mjr.discordframework.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.event.EventDispatcher;
+import discord4j.core.event.domain.PresenceUpdateEvent;
+import discord4j.core.event.domain.UserUpdateEvent;
+import discord4j.core.event.domain.guild.MemberLeaveEvent;
+import discord4j.core.event.domain.guild.MemberUpdateEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.User;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded in process cache of users and members for a client. Entries expire after a time to live, the least recently used entries are dropped once the cache is full, and
+ * entries are dropped when Discord sends a presence, user or member update for them
+ */
+public class DiscordUserCache {
+	public static final int DEFAULT_MAX_SIZE = 10000;
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private static final Map<DiscordClient, DiscordUserCache> caches = new ConcurrentHashMap<DiscordClient, DiscordUserCache>();
+
+	private final Disposable.Composite subscriptions = Disposables.composite();
+	private final DiscordClient client;
+	private final long timeToLiveNanos;
+	private final Map<Long, CachedEntry<User>> users;
+	private final Map<MemberKey, CachedEntry<Member>> members;
+	private final Stats userStats = new Stats();
+	private final Stats memberStats = new Stats();
+
+	public DiscordUserCache(DiscordClient client, int maxSize, Duration timeToLive) {
+		super();
+		this.client = client;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.users = createMap(maxSize, userStats);
+		this.members = createMap(maxSize, memberStats);
+	}
+
+	/**
+	 * Gets the user cache for a client, creating it and registering its invalidation events on first use
+	 *
+	 * @param client
+	 * @return
+	 */
+	public static DiscordUserCache getCache(DiscordClient client) {
+		return caches.computeIfAbsent(client, key -> {
+			DiscordUserCache cache = new DiscordUserCache(key, DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+			cache.registerEvents(key.getEventDispatcher());
+			return cache;
+		});
+	}
+
+	/**
+	 * Used to drop cached users and members when they are changed on Discord. A cached user can be a member, so member updates and leaves drop the user entry as well
+	 *
+	 * @param dispatcher
+	 */
+	public void registerEvents(EventDispatcher dispatcher) {
+		subscriptions.add(dispatcher.on(PresenceUpdateEvent.class).subscribe(event -> {
+			invalidateUser(event.getUserId());
+			invalidateMember(event.getGuildId(), event.getUserId());
+		}));
+		subscriptions.add(dispatcher.on(UserUpdateEvent.class).subscribe(event -> invalidateUser(event.getCurrent().getId())));
+		subscriptions.add(dispatcher.on(MemberUpdateEvent.class).subscribe(event -> {
+			invalidateUser(event.getMemberId());
+			invalidateMember(event.getGuildId(), event.getMemberId());
+		}));
+		subscriptions.add(dispatcher.on(MemberLeaveEvent.class).subscribe(event -> {
+			invalidateUser(event.getUser().getId());
+			invalidateMember(event.getGuildId(), event.getUser().getId());
+		}));
+	}
+
+	/**
+	 * Gets a user, using the cached user when there is one otherwise fetching and caching it
+	 *
+	 * @param userID
+	 * @return
+	 */
+	public Mono<User> getUser(Snowflake userID) {
+		User cached = get(users, userID.asLong(), userStats);
+		if (cached != null)
+			return Mono.just(cached);
+		return client.getUserById(userID).doOnNext(this::put);
+	}
+
+	/**
+	 * Gets a member, using the cached member when there is one otherwise fetching and caching it
+	 *
+	 * @param guildID
+	 * @param memberID
+	 * @return
+	 */
+	public Mono<Member> getMember(Snowflake guildID, Snowflake memberID) {
+		Member cached = get(members, new MemberKey(guildID.asLong(), memberID.asLong()), memberStats);
+		if (cached != null)
+			return Mono.just(cached);
+		return client.getMemberById(guildID, memberID).doOnNext(this::put);
+	}
+
+	/**
+	 * Caches a user, members are cached as both a member of their guild and a user. The user entry then still holds the member, which is why member events also drop it
+	 *
+	 * @param user
+	 */
+	public void put(User user) {
+		long expiresAt = System.nanoTime() + timeToLiveNanos;
+		users.put(user.getId().asLong(), new CachedEntry<User>(user, expiresAt));
+		if (user instanceof Member) {
+			Member member = (Member) user;
+			members.put(new MemberKey(member.getGuildId().asLong(), member.getId().asLong()), new CachedEntry<Member>(member, expiresAt));
+		}
+	}
+
+	public void invalidateUser(Snowflake userID) {
+		users.remove(userID.asLong());
+	}
+
+	public void invalidateMember(Snowflake guildID, Snowflake memberID) {
+		members.remove(new MemberKey(guildID.asLong(), memberID.asLong()));
+	}
+
+	/**
+	 * Removes the cache of a client and stops listening to its events, called once the client has logged out
+	 *
+	 * @param client
+	 */
+	public static void release(DiscordClient client) {
+		DiscordUserCache removed = caches.remove(client);
+		if (removed != null)
+			removed.dispose();
+	}
+
+	/**
+	 * Stops listening to events and empties the cache
+	 */
+	public void dispose() {
+		subscriptions.dispose();
+		clear();
+	}
+
+	public void clear() {
+		users.clear();
+		members.clear();
+	}
+
+	public int getUserCount() {
+		return users.size();
+	}
+
+	public int getMemberCount() {
+		return members.size();
+	}
+
+	public Stats getUserStats() {
+		return userStats;
+	}
+
+	public Stats getMemberStats() {
+		return memberStats;
+	}
+
+	private <K, V> V get(Map<K, CachedEntry<V>> map, K key, Stats stats) {
+		CachedEntry<V> entry = map.get(key);
+		if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+			stats.hits.increment();
+			return entry.value;
+		}
+		if (entry != null) {
+			map.remove(key, entry);
+			stats.expired.increment();
+		}
+		stats.misses.increment();
+		return null;
+	}
+
+	private static <K, V> Map<K, CachedEntry<V>> createMap(final int maxSize, final Stats stats) {
+		return Collections.synchronizedMap(new LinkedHashMap<K, CachedEntry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, CachedEntry<V>> eldest) {
+				if (size() <= maxSize)
+					return false;
+				stats.evictions.increment();
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * Hit and miss counts of a {@link DiscordUserCache}, expired entries count as misses
+	 */
+	public static class Stats {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder expired = new LongAdder();
+		private final LongAdder evictions = new LongAdder();
+
+		public long getHits() {
+			return hits.sum();
+		}
+
+		public long getMisses() {
+			return misses.sum();
+		}
+
+		public long getExpired() {
+			return expired.sum();
+		}
+
+		public long getEvictions() {
+			return evictions.sum();
+		}
+
+		/**
+		 * @return 0 if nothing has been looked up yet
+		 */
+		public double getHitRate() {
+			long hitCount = getHits();
+			long total = hitCount + getMisses();
+			return total == 0 ? 0 : (double) hitCount / total;
+		}
+
+		@Override
+		public String toString() {
+			return "[hits=" + getHits() + ", misses=" + getMisses() + ", expired=" + getExpired() + ", evictions=" + getEvictions() + "]";
+		}
+	}
+
+	private static class CachedEntry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		public CachedEntry(V value, long expiresAt) {
+			super();
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static class MemberKey {
+		private final long guildID;
+		private final long memberID;
+
+		public MemberKey(long guildID, long memberID) {
+			super();
+			this.guildID = guildID;
+			this.memberID = memberID;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(guildID) * 31 + Long.hashCode(memberID);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MemberKey))
+				return false;
+			MemberKey other = (MemberKey) obj;
+			return guildID == other.guildID && memberID == other.memberID;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.mjr.discordframework.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.metrics.DiscordMetrics;
+
+import discord4j.core.DiscordClient;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Runs event handlers on a fixed set of lanes. Handlers are partitioned by a key such as the message id, so handlers for the same key run in the order their events arrived while
+ * different keys run in parallel. Lanes do not own threads, a handler's Mono is subscribed on the coordinator's event scheduler once the one before it in the lane has finished.
+ * That scheduler also dispatches gateway events so Mono handlers must not block, Runnable handlers run on the coordinator's blocking scheduler and may block
+ */
+public class DiscordEventWorkerPool {
+	public static final int DEFAULT_LANE_QUEUE_BOUND = 10000;
+
+	private final DiscordClient client;
+	private final Scheduler scheduler;
+	private final Scheduler blockingScheduler;
+	private final int laneQueueBound;
+	private final List<FluxSink<QueuedHandler>> lanes;
+	private final AtomicIntegerArray laneDepths;
+	private final AtomicLong processedCount = new AtomicLong();
+	private final AtomicLong rejectedCount = new AtomicLong();
+	private final AtomicLong totalLagNanos = new AtomicLong();
+	private final AtomicLong maxLagNanos = new AtomicLong();
+	private volatile long lastLagNanos;
+
+	public DiscordEventWorkerPool(DiscordClient client, DiscordBotCoordinator coordinator) {
+		this(client, coordinator.getEventScheduler(), coordinator.getBlockingScheduler(), coordinator.getEventLaneCount(), DEFAULT_LANE_QUEUE_BOUND);
+	}
+
+	/**
+	 * @param client
+	 * @param scheduler shared scheduler the handlers are subscribed on, must not be blocked
+	 * @param blockingScheduler shared scheduler Runnable handlers are run on, allowed to be blocked
+	 * @param laneCount how many handlers can run at once
+	 * @param laneQueueBound how many handlers can wait in a lane before new ones are rejected
+	 */
+	public DiscordEventWorkerPool(DiscordClient client, Scheduler scheduler, Scheduler blockingScheduler, int laneCount, int laneQueueBound) {
+		super();
+		this.client = client;
+		this.scheduler = scheduler;
+		this.blockingScheduler = blockingScheduler;
+		this.laneQueueBound = laneQueueBound;
+		this.lanes = new ArrayList<FluxSink<QueuedHandler>>(laneCount);
+		this.laneDepths = new AtomicIntegerArray(laneCount);
+		for (int i = 0; i < laneCount; i++) {
+			final int laneIndex = i;
+			UnicastProcessor<QueuedHandler> lane = UnicastProcessor.create(Queues.<QueuedHandler> unbounded().get());
+			lanes.add(lane.sink());
+			lane.concatMap(queued -> run(laneIndex, queued)).subscribe();
+		}
+	}
+
+	/**
+	 * Queue a handler on the lane for its key, the next handler in the lane starts once the Mono it returns has finished. The handler is called on the event scheduler so it must
+	 * not block
+	 *
+	 * @param key
+	 * @param handler
+	 * @return false if the lane was full and the handler was dropped
+	 */
+	public boolean submit(long key, Supplier<? extends Mono<?>> handler) {
+		int laneIndex = getLaneIndex(key);
+		if (laneDepths.incrementAndGet(laneIndex) > laneQueueBound) {
+			laneDepths.decrementAndGet(laneIndex);
+			rejectedCount.incrementAndGet();
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Event handler was dropped, the worker lane for key " + key + " is full");
+			return false;
+		}
+		lanes.get(laneIndex).next(new QueuedHandler(handler, System.nanoTime()));
+		return true;
+	}
+
+	/**
+	 * Queue a handler that does its work straight away on the lane for its key, it is run on the blocking scheduler so it is allowed to block
+	 *
+	 * @param key
+	 * @param handler
+	 * @return false if the lane was full and the handler was dropped
+	 */
+	public boolean submit(long key, Runnable handler) {
+		return submit(key, () -> Mono.fromRunnable(handler).subscribeOn(blockingScheduler));
+	}
+
+	private Mono<Object> run(int laneIndex, QueuedHandler queued) {
+		return Mono.defer(() -> {
+			laneDepths.decrementAndGet(laneIndex);
+			long lag = System.nanoTime() - queued.enqueuedNanos;
+			lastLagNanos = lag;
+			maxLagNanos.accumulateAndGet(lag, Math::max);
+			totalLagNanos.addAndGet(lag);
+			DiscordMetrics metrics = DiscordMetrics.getMetrics(client);
+			if (metrics != null)
+				metrics.recordHandlerLag(lag);
+			return queued.handler.get();
+		}).subscribeOn(scheduler).cast(Object.class).onErrorResume(e -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Error while processing event Error: " + e.getMessage());
+			return Mono.empty();
+		}).doFinally(signal -> processedCount.incrementAndGet());
+	}
+
+	public int getLaneIndex(long key) {
+		return (int) ((key & Long.MAX_VALUE) % lanes.size());
+	}
+
+	public int getLaneCount() {
+		return lanes.size();
+	}
+
+	/**
+	 * Gets the amount of handlers waiting across every lane
+	 *
+	 * @return
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (int i = 0; i < lanes.size(); i++)
+			depth += laneDepths.get(i);
+		return depth;
+	}
+
+	/**
+	 * Gets the amount of handlers waiting in a lane
+	 *
+	 * @param laneIndex
+	 * @return
+	 */
+	public int getQueueDepth(int laneIndex) {
+		return laneDepths.get(laneIndex);
+	}
+
+	public long getProcessedCount() {
+		return processedCount.get();
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * Gets how long the most recent handler waited in its lane before it started
+	 *
+	 * @return
+	 */
+	public long getLastLagMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(lastLagNanos);
+	}
+
+	public long getMaxLagMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get());
+	}
+
+	public double getAverageLagMillis() {
+		long processed = processedCount.get();
+		return processed == 0 ? 0 : totalLagNanos.get() / (double) processed / 1000000.0;
+	}
+
+	/**
+	 * Stops the lanes, handlers already queued still run
+	 */
+	public void shutdown() {
+		for (FluxSink<QueuedHandler> lane : lanes)
+			lane.complete();
+	}
+
+	private static class QueuedHandler {
+		private final Supplier<? extends Mono<?>> handler;
+		private final long enqueuedNanos;
+
+		private QueuedHandler(Supplier<? extends Mono<?>> handler, long enqueuedNanos) {
+			this.handler = handler;
+			this.enqueuedNanos = enqueuedNanos;
+		}
+	}
+}
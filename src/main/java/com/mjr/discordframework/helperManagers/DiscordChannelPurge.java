@@ -0,0 +1,100 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import discord4j.core.object.util.Snowflake;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Handle for a running purge of a channel's messages, gives the progress of the purge and allows it to be cancelled
+ */
+public class DiscordChannelPurge {
+	private final Snowflake channelID;
+	private final AtomicLong scannedCount = new AtomicLong();
+	private final AtomicLong deletedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private final MonoProcessor<Void> completion = MonoProcessor.create();
+	private volatile Disposable subscription;
+	private volatile boolean cancelled;
+
+	public DiscordChannelPurge(Snowflake channelID) {
+		super();
+		this.channelID = channelID;
+	}
+
+	/**
+	 * Used locally to start the purge
+	 *
+	 * @param deletes
+	 */
+	void start(Flux<?> deletes) {
+		this.subscription = deletes.subscribe(ignored -> {
+		}, error -> completion.onError(error), () -> completion.onComplete());
+		if (cancelled)
+			subscription.dispose();
+	}
+
+	/**
+	 * Stops the purge, deletes already sent are not undone
+	 */
+	public void cancel() {
+		cancelled = true;
+		Disposable temp = this.subscription;
+		if (temp != null)
+			temp.dispose();
+		completion.onComplete();
+	}
+
+	public Snowflake getChannelID() {
+		return channelID;
+	}
+
+	/**
+	 * Gets the amount of messages read from the channel's history so far
+	 *
+	 * @return
+	 */
+	public long getScannedCount() {
+		return scannedCount.get();
+	}
+
+	public long getDeletedCount() {
+		return deletedCount.get();
+	}
+
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isDone() {
+		return completion.isTerminated();
+	}
+
+	/**
+	 * Gets a Mono that completes when the purge has finished or been cancelled
+	 *
+	 * @return
+	 */
+	public Mono<Void> getCompletion() {
+		return completion;
+	}
+
+	void onScanned(int amount) {
+		scannedCount.addAndGet(amount);
+	}
+
+	void onDeleted(int amount) {
+		deletedCount.addAndGet(amount);
+	}
+
+	void onFailed(int amount) {
+		failedCount.addAndGet(amount);
+	}
+}
@@ -1,22 +1,37 @@
 package com.mjr.discordframework.helperManagers;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import com.mjr.discordframework.DiscordBotBase;
 import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.cache.DiscordChannelCache;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.metrics.DiscordMetrics;
 
 import discord4j.core.DiscordClient;
 import discord4j.core.object.entity.Channel;
+import discord4j.core.object.entity.GuildChannel;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.MessageChannel;
 import discord4j.core.object.entity.TextChannel;
 import discord4j.core.object.util.Snowflake;
+import discord4j.rest.http.client.ClientException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class DiscordDeleteMessageManager {
+	public static final int BULK_DELETE_LIMIT = 100;
+	/**
+	 * Discord rejects bulk deletes of messages older than 2 weeks, a little is taken off so a message can't age past the limit while the request is in flight
+	 */
+	public static final Duration BULK_DELETE_MAX_AGE = Duration.ofDays(14).minusMinutes(10);
+	public static final int DEFAULT_PURGE_CONCURRENCY = 2;
+	public static final String PURGE_REASON = "Channel Nuke";
+
 	/**
 	 * Delete all messages from a channel
 	 *
@@ -37,24 +52,8 @@ public class DiscordDeleteMessageManager {
 		if (client.isConnected() == false)
 			return;
 		TextChannel textChannel = channel.block();
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to run a nuke of all messages on Channel: " + channel.ofType(TextChannel.class).block().getName());
-
-			List<Snowflake> messagesIDS = new ArrayList<Snowflake>();
-			Flux<Message> messages = textChannel.getMessagesBefore(Snowflake.of(Instant.now()));
-			for (Message temp : messages.collectList().block()) {
-				messagesIDS.add(temp.getId());
-				botBase.getReactionMessageManager().removeEmbeddedMessage(temp);
-			}
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Deleting Bulk Messages from " + textChannel.getName());
-			textChannel.bulkDelete(Flux.fromIterable(messagesIDS)).doOnError(error -> {
-				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Channel could not be nuked of messages due to: " + error.getMessage());
-				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to nuke all messages from " + textChannel.getName() + " due to an error, please check the log for details!");
-			}).subscribe();
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Channel could not be nuked of messages due to: " + e.getMessage());
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to nuke all messages from " + textChannel.getName() + " due to an error, please check the log for details!");
-		}
+		DiscordChannelCache.getCache(client).put(textChannel);
+		purgeChannel(client, botBase, textChannel.getId());
 	}
 
 	/**
@@ -81,14 +80,15 @@ public class DiscordDeleteMessageManager {
 		if (client.isConnected() == false)
 			return;
 		TextChannel textChannel = channel.block();
+		DiscordChannelCache.getCache(client).put(textChannel);
 		try {
 			List<Snowflake> messagesIDS = new ArrayList<Snowflake>();
 			for (Message temp : messagesToDelete) {
 				messagesIDS.add(temp.getId());
 				botBase.getReactionMessageManager().removeEmbeddedMessage(temp);
 			}
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Deleting Bulk Messages from " + textChannel.getName());
-			textChannel.bulkDelete(Flux.fromIterable(messagesIDS)).doOnError(error -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Deleting Bulk Messages from " + textChannel.getName());
+			DiscordMetrics.time(client, DiscordMetrics.Operation.BULK_DELETE, textChannel.bulkDelete(Flux.fromIterable(messagesIDS)).then()).doOnError(error -> {
 				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Bulk Messages could not be deleted from channel  " + textChannel.getName() + " due to: " + error.getMessage());
 				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a messages in " + textChannel.getName() + " due to an error, please check the log for details!");
 			}).subscribe();
@@ -117,50 +117,298 @@ public class DiscordDeleteMessageManager {
 			return;
 		if (client.isConnected() == false)
 			return;
+		Mono<String> channelName = DiscordChannelCache.getCache(client).getChannelName(message.getChannelId()).onErrorReturn(message.getChannelId().asString()).cache();
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Deleting message with id: " + message.getId() + " from " + message.getChannel().ofType(TextChannel.class).block().getName());
-			message.delete(reason).doOnError(error -> {
-				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be deleted, error: " + error.getMessage());
-				DiscordEventHooks.triggerMessageEvent(client,
-						DiscordBotBase.DiscordMessageType.Error,
-						":warning: unable to delete a message in " + message.getChannel().ofType(TextChannel.class).block().getName() + " due to an error, please check the log for details!");
-			}).block();
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Deleting message with id: " + message.getId() + " from " + channelName.block());
+			DiscordMetrics.time(client, DiscordMetrics.Operation.DELETE, message.delete(reason)).block();
 			botBase.getReactionMessageManager().removeEmbeddedMessage(message);
+			DiscordMessageCache.getCache(client).invalidate(message.getId());
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be deleted, error: " + e.getMessage());
-			DiscordEventHooks
-					.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a message in " + message.getChannel().ofType(TextChannel.class).block().getName() + " due to an error, please check the log for details!");
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a message in " + channelName.block() + " due to an error, please check the log for details!");
 		}
 	}
 
 	/**
-	 * Delete a message from a channel
+	 * Delete a message from a channel without blocking, goes straight to the REST route so neither the channel or message are fetched
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param reason
+	 * @return
+	 */
+	public static Mono<Void> deleteMessageAsync(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, Snowflake messageID, String reason) {
+		return Mono.defer(() -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Deleting message with id: " + messageID.asString() + " from " + getCachedChannelName(client, channelID));
+			return DiscordMetrics.time(client, DiscordMetrics.Operation.DELETE, DiscordRestAccess.deleteMessage(client, channelID, messageID, reason));
+		}).doOnSuccess(ignored -> {
+			botBase.getReactionMessageManager().removeEmbeddedMessage(messageID);
+			DiscordMessageCache.getCache(client).invalidate(messageID);
+		}).doOnError(error -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be deleted, error: " + error.getMessage());
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a message in " + getCachedChannelName(client, channelID) + " due to an error, please check the log for details!");
+		});
+	}
+
+	/**
+	 * Delete messages from a channel without blocking, messages young enough are deleted in bulk requests of up to 100 and the rest are deleted one at a time
+	 *
+	 * @param channelID
+	 * @param messageIDs
+	 * @param reason used for the single deletes, bulk deletes do not take a reason
+	 * @return Mono that completes once every delete has finished, failed deletes are reported and do not stop the others
+	 */
+	public static Mono<Void> deleteMessagesAsync(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, List<Snowflake> messageIDs, String reason) {
+		return tryDeleteMessagesAsync(client, botBase, channelID, messageIDs, reason).then();
+	}
+
+	/**
+	 * Delete messages from a channel without blocking the same way as {@link #deleteMessagesAsync(DiscordClient, DiscordBotBase, Snowflake, List, String)}, but passes on the ids
+	 * of the messages that could not be deleted. A message that no longer exists counts as deleted
+	 *
+	 * @param channelID
+	 * @param messageIDs
+	 * @param reason used for the single deletes, bulk deletes do not take a reason
+	 * @return Flux of the message ids that could not be deleted, completes once every delete has finished
+	 */
+	public static Flux<Snowflake> tryDeleteMessagesAsync(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, List<Snowflake> messageIDs, String reason) {
+		return isGuildChannel(client, channelID).flatMapMany(guildChannel -> {
+			if (!guildChannel)
+				return deleteEachMessageAsync(client, botBase, channelID, messageIDs, reason);
+			List<Snowflake> bulkDeletable = new ArrayList<Snowflake>();
+			List<Snowflake> singleDeletes = new ArrayList<Snowflake>();
+			for (Snowflake messageID : messageIDs) {
+				if (isBulkDeletable(messageID))
+					bulkDeletable.add(messageID);
+				else
+					singleDeletes.add(messageID);
+			}
+			List<Flux<Snowflake>> deletes = new ArrayList<Flux<Snowflake>>();
+			for (int start = 0; start < bulkDeletable.size(); start += BULK_DELETE_LIMIT) {
+				List<Snowflake> chunk = bulkDeletable.subList(start, Math.min(start + BULK_DELETE_LIMIT, bulkDeletable.size()));
+				if (chunk.size() == 1)
+					singleDeletes.add(chunk.get(0));
+				else
+					deletes.add(bulkDeleteMessagesAsync(client, botBase, channelID, chunk).thenMany(Flux.<Snowflake> empty())
+							.onErrorResume(ClientException.class, error -> deleteEachMessageAsync(client, botBase, channelID, chunk, reason)).onErrorResume(error -> Flux.fromIterable(chunk)));
+			}
+			deletes.add(deleteEachMessageAsync(client, botBase, channelID, singleDeletes, reason));
+			return Flux.concat(deletes);
+		});
+	}
+
+	/**
+	 * Used locally to delete messages one at a time, for private channels and bulk deletes Discord rejected
+	 *
+	 * @param channelID
+	 * @param messageIDs
+	 * @param reason
+	 * @return Flux of the message ids that could not be deleted
+	 */
+	private static Flux<Snowflake> deleteEachMessageAsync(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, List<Snowflake> messageIDs, String reason) {
+		return Flux.fromIterable(messageIDs).concatMap(messageID -> deleteMessageAsync(client, botBase, channelID, messageID, reason).thenMany(Flux.<Snowflake> empty())
+				.onErrorResume(error -> isUnknownMessage(error) ? Flux.empty() : Flux.just(messageID)));
+	}
+
+	/**
+	 * Used locally to check if a channel is in a guild, only guild channels support bulk deletes. The channel is only fetched when it is not cached
+	 *
+	 * @param channelID
+	 * @return
+	 */
+	private static Mono<Boolean> isGuildChannel(DiscordClient client, Snowflake channelID) {
+		return DiscordChannelCache.getCache(client).getChannel(channelID).map(channel -> channel instanceof GuildChannel).defaultIfEmpty(false).onErrorReturn(false);
+	}
+
+	/**
+	 * Used locally to check if a delete failed because the message was already deleted
+	 *
+	 * @param error
+	 * @return
+	 */
+	private static boolean isUnknownMessage(Throwable error) {
+		return error instanceof ClientException && ((ClientException) error).getStatus().code() == 404;
+	}
+
+	/**
+	 * Used locally to send one bulk delete request, the message ids must be between 2 and 100 messages that are under 2 weeks old in a guild channel. Callers fall back to single
+	 * deletes if it fails
+	 *
+	 * @param channelID
+	 * @param messageIDs
+	 * @return
+	 */
+	private static Mono<Void> bulkDeleteMessagesAsync(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, List<Snowflake> messageIDs) {
+		String[] ids = new String[messageIDs.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = messageIDs.get(i).asString();
+		return Mono.defer(() -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Deleting " + ids.length + " Bulk Messages from " + getCachedChannelName(client, channelID));
+			return DiscordMetrics.time(client, DiscordMetrics.Operation.BULK_DELETE, DiscordRestAccess.bulkDeleteMessages(client, channelID, ids));
+		}).doOnSuccess(ignored -> {
+			DiscordMessageCache messageCache = DiscordMessageCache.getCache(client);
+			for (Snowflake messageID : messageIDs) {
+				botBase.getReactionMessageManager().removeEmbeddedMessage(messageID);
+				messageCache.invalidate(messageID);
+			}
+		}).doOnError(error -> DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info,
+				() -> "Bulk Messages could not be deleted from channel " + getCachedChannelName(client, channelID) + " due to: " + error.getMessage() + ", deleting them one at a time"));
+	}
+
+	/**
+	 * Purge every message from a channel without loading its history into memory. History is paged in windows of 100 and each window is deleted as it arrives, messages too old
+	 * for a bulk delete go through the bot's outbound queue one at a time
+	 *
+	 * @param channelID
+	 * @return handle to follow the progress of the purge or cancel it
+	 */
+	public static DiscordChannelPurge purgeChannel(DiscordClient client, DiscordBotBase botBase, Snowflake channelID) {
+		return purgeChannel(client, botBase, channelID, DEFAULT_PURGE_CONCURRENCY);
+	}
+
+	/**
+	 * Purge every message from a channel without loading its history into memory. History is paged in windows of 100 and each window is deleted as it arrives, messages too old
+	 * for a bulk delete go through the bot's outbound queue one at a time
+	 *
+	 * @param channelID
+	 * @param maxConcurrentWindows how many windows can be deleting at once
+	 * @return handle to follow the progress of the purge or cancel it
+	 */
+	public static DiscordChannelPurge purgeChannel(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, int maxConcurrentWindows) {
+		DiscordChannelPurge purge = new DiscordChannelPurge(channelID);
+		DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to run a nuke of all messages on Channel: " + getCachedChannelName(client, channelID));
+		purge.start(DiscordChannelCache.getCache(client).getChannel(channelID).ofType(MessageChannel.class).flatMapMany(channel -> channel.getMessagesBefore(Snowflake.of(Instant.now()))
+				.map(Message::getId).buffer(BULK_DELETE_LIMIT).flatMap(window -> purgeWindow(client, botBase, channelID, channel instanceof GuildChannel, window, purge), maxConcurrentWindows)).doOnComplete(() -> {
+					DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Nuke of Channel: " + getCachedChannelName(client, channelID) + " finished, " + purge.getDeletedCount() + " messages deleted, " + purge.getFailedCount() + " failed");
+				}).doOnError(error -> {
+					DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Channel could not be nuked of messages due to: " + error.getMessage());
+					DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to nuke all messages from " + getCachedChannelName(client, channelID) + " due to an error, please check the log for details!");
+				}));
+		return purge;
+	}
+
+	/**
+	 * Used locally to delete one window of a purge, bulk deletes are only used in guild channels and fall back to single deletes if Discord rejects them
+	 *
+	 * @param channelID
+	 * @param guildChannel
+	 * @param window
+	 * @param purge
+	 * @return
+	 */
+	private static Mono<Void> purgeWindow(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, boolean guildChannel, List<Snowflake> window, DiscordChannelPurge purge) {
+		purge.onScanned(window.size());
+		List<Snowflake> bulkDeletable = new ArrayList<Snowflake>();
+		List<Mono<Void>> deletes = new ArrayList<Mono<Void>>();
+		for (Snowflake messageID : window) {
+			if (guildChannel && isBulkDeletable(messageID))
+				bulkDeletable.add(messageID);
+			else
+				deletes.add(queueDelete(client, botBase, channelID, messageID, purge));
+		}
+		if (bulkDeletable.size() == 1)
+			deletes.add(queueDelete(client, botBase, channelID, bulkDeletable.get(0), purge));
+		else if (bulkDeletable.size() > 1) {
+			int amount = bulkDeletable.size();
+			deletes.add(bulkDeleteMessagesAsync(client, botBase, channelID, bulkDeletable).doOnSuccess(ignored -> purge.onDeleted(amount)).onErrorResume(ClientException.class, error -> {
+				List<Mono<Void>> singles = new ArrayList<Mono<Void>>();
+				for (Snowflake messageID : bulkDeletable)
+					singles.add(queueDelete(client, botBase, channelID, messageID, purge));
+				return Mono.when(singles);
+			}).onErrorResume(error -> {
+				purge.onFailed(amount);
+				return Mono.empty();
+			}));
+		}
+		return Mono.when(deletes);
+	}
+
+	/**
+	 * Used locally to send a single delete of a purge through the outbound queue so old messages are deleted at the rate Discord allows
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param purge
+	 * @return
+	 */
+	private static Mono<Void> queueDelete(DiscordClient client, DiscordBotBase botBase, Snowflake channelID, Snowflake messageID, DiscordChannelPurge purge) {
+		DiscordOutboundQueue queue = botBase.getOutboundQueue();
+		Supplier<Mono<Void>> request = () -> deleteMessageAsync(client, botBase, channelID, messageID, PURGE_REASON);
+		Mono<Void> delete = queue == null ? Mono.defer(request) : queue.submit(DiscordOutboundQueue.getDeleteBucket(channelID), request);
+		return delete.doOnSuccess(ignored -> purge.onDeleted(1)).onErrorResume(error -> {
+			purge.onFailed(1);
+			return Mono.empty();
+		});
+	}
+
+	/**
+	 * Checks if a message is young enough to be included in a bulk delete, worked out from the timestamp in its id
+	 *
+	 * @param messageID
+	 * @return
+	 */
+	public static boolean isBulkDeletable(Snowflake messageID) {
+		return messageID.getTimestamp().isAfter(Instant.now().minus(BULK_DELETE_MAX_AGE));
+	}
+
+	/**
+	 * Used locally to get a channel name for debug output without fetching the channel
+	 *
+	 * @param channelID
+	 * @return
+	 */
+	private static String getCachedChannelName(DiscordClient client, Snowflake channelID) {
+		DiscordChannelCache.CachedChannel cached = DiscordChannelCache.getCache(client).get(channelID);
+		return cached != null ? cached.getDisplayName() : channelID.asString();
+	}
+
+	/**
+	 * Delete a message from a channel, the message is deleted by id without fetching it
 	 *
 	 * @param channel
 	 * @param messageID
 	 */
 	public static void deleteMessageFromChannel(DiscordClient client, DiscordBotBase botBase, Mono<Channel> channel, Snowflake messageID, String reason) {
-		deleteMessageFromChannel(client, botBase, channel, client.getMessageById(channel.block().getId(), messageID), reason);
+		deleteMessageByID(client, botBase, DiscordChannelCache.getCache(client).resolve(channel), messageID, reason);
 	}
 
 	/**
-	 * Delete a message from a channel
+	 * Delete a message from a channel, the message is deleted by id without fetching it
 	 *
 	 * @param channel
 	 * @param messageID
 	 */
 	public static void deleteMessageFromMessageChannel(DiscordClient client, DiscordBotBase botBase, Mono<MessageChannel> channel, Snowflake messageID, String reason) {
-		deleteMessageFromChannel(client, botBase, channel.ofType(Channel.class), client.getMessageById(channel.block().getId(), messageID), reason);
+		deleteMessageByID(client, botBase, DiscordChannelCache.getCache(client).resolve(channel.ofType(Channel.class)), messageID, reason);
 	}
 
 	/**
-	 * Delete a message from a channel
+	 * Delete a message from a channel, the message is deleted by id without fetching it
 	 *
 	 * @param channel
 	 * @param messageID
 	 */
 	public static void deleteMessageFromTextChannel(DiscordClient client, DiscordBotBase botBase, Mono<TextChannel> channel, Snowflake messageID, String reason) {
-		deleteMessageFromChannel(client, botBase, channel.ofType(Channel.class), client.getMessageById(channel.block().getId(), messageID), reason);
+		deleteMessageByID(client, botBase, DiscordChannelCache.getCache(client).resolve(channel.ofType(Channel.class)), messageID, reason);
+	}
+
+	/**
+	 * Used locally to delete a message by id once its channel is resolved, errors are reported by {@link #deleteMessageAsync}
+	 *
+	 * @param channel
+	 * @param messageID
+	 * @param reason
+	 */
+	private static void deleteMessageByID(DiscordClient client, DiscordBotBase botBase, Mono<Channel> channel, Snowflake messageID, String reason) {
+		if (client == null)
+			return;
+		if (client.isConnected() == false)
+			return;
+		try {
+			deleteMessageAsync(client, botBase, channel.block().getId(), messageID, reason).onErrorResume(error -> Mono.empty()).block();
+		} catch (Exception e) {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be deleted, error: " + e.getMessage());
+		}
 	}
 
 	/**
@@ -174,13 +422,16 @@ public class DiscordDeleteMessageManager {
 			return;
 		if (client.isConnected() == false)
 			return;
+		Mono<String> channelName = DiscordChannelCache.getCache(client).resolve(channel).map(DiscordChannelCache::getDisplayName).onErrorReturn("unknown channel").cache();
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Deleting message with id: " + message.block().getId() + " from " + channel.ofType(TextChannel.class).block().getName());
-			channel.ofType(TextChannel.class).block().getMessageById(message.block().getId()).block().delete(reason).block();
-			botBase.getReactionMessageManager().removeEmbeddedMessage(message.block());
+			Message temp = message.block();
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Deleting message with id: " + temp.getId() + " from " + channelName.block());
+			DiscordMetrics.time(client, DiscordMetrics.Operation.DELETE, temp.delete(reason)).block();
+			botBase.getReactionMessageManager().removeEmbeddedMessage(temp);
+			DiscordMessageCache.getCache(client).invalidate(temp.getId());
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be deleted, error: " + e.getMessage());
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a message in " + channel.ofType(TextChannel.class).block().getName() + " due to an error, please check the log for details!");
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to delete a message in " + channelName.block() + " due to an error, please check the log for details!");
 		}
 	}
 }
@@ -0,0 +1,262 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.metrics.DiscordMetrics;
+
+import discord4j.common.JacksonResourceProvider;
+import discord4j.core.DiscordClient;
+import discord4j.core.object.util.Snowflake;
+import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.core.spec.MessageEditSpec;
+import discord4j.rest.http.client.ClientException;
+import discord4j.rest.json.request.MessageEditRequest;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+/**
+ * Handle for a message that is edited often, such as a status embed. Callers post new content as often as they like and the edits are coalesced: at most one edit is in flight,
+ * only the latest content is sent, content that matches what was last sent is dropped and edits are sent at most once per interval. A failed edit is retried on the next
+ * interval unless newer content has been posted since, and the handle closes itself if the message is deleted
+ */
+public class DiscordLiveMessage implements TimerTask {
+	public static final long DEFAULT_MIN_INTERVAL_MILLIS = 1000;
+	public static final int MAX_EDIT_ATTEMPTS = 3;
+
+	private static final ObjectMapper MAPPER = new JacksonResourceProvider().getObjectMapper();
+
+	private final DiscordClient client;
+	private final Snowflake channelID;
+	private final Snowflake messageID;
+	private final LongAdder sentCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private volatile long minIntervalMillis;
+	private PendingEdit pending;
+	private String lastSentKey;
+	private long lastSentAt;
+	private boolean inFlight;
+	private boolean closed;
+	private Timeout sendTimeout;
+
+	public DiscordLiveMessage(DiscordClient client, Snowflake channelID, Snowflake messageID) {
+		this(client, channelID, messageID, DEFAULT_MIN_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * @param client
+	 * @param channelID
+	 * @param messageID
+	 * @param minIntervalMillis shortest time between two edits being sent
+	 */
+	public DiscordLiveMessage(DiscordClient client, Snowflake channelID, Snowflake messageID, long minIntervalMillis) {
+		super();
+		this.client = client;
+		this.channelID = channelID;
+		this.messageID = messageID;
+		this.minIntervalMillis = minIntervalMillis;
+		this.lastSentAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+	}
+
+	/**
+	 * Post new text content for the message
+	 *
+	 * @param content
+	 */
+	public void update(final String content) {
+		update(spec -> spec.setContent(content));
+	}
+
+	/**
+	 * Post a new embed for the message
+	 *
+	 * @param embed
+	 */
+	public void updateEmbed(final Consumer<EmbedCreateSpec> embed) {
+		update(spec -> spec.setEmbed(embed));
+	}
+
+	/**
+	 * Post new content for the message, the spec is applied straight away so it can use state that changes before the edit is sent
+	 *
+	 * @param newMessage
+	 */
+	public void update(Consumer<MessageEditSpec> newMessage) {
+		MessageEditSpec spec = new MessageEditSpec();
+		newMessage.accept(spec);
+		MessageEditRequest request = spec.asRequest();
+		String key;
+		try {
+			key = MAPPER.writeValueAsString(request);
+		} catch (JsonProcessingException e) {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Live message edit could not be read, error: " + e.getMessage());
+			return;
+		}
+		synchronized (this) {
+			if (closed)
+				return;
+			if (pending != null)
+				droppedCount.increment();
+			if (key.equals(lastSentKey) && !inFlight) {
+				pending = null;
+				droppedCount.increment();
+				return;
+			}
+			pending = new PendingEdit(request, key);
+		}
+		trySend();
+	}
+
+	@Override
+	public void run(Timeout timeout) {
+		synchronized (this) {
+			sendTimeout = null;
+		}
+		trySend();
+	}
+
+	/**
+	 * Used locally to send the latest pending edit if no edit is in flight, waiting until the interval since the last edit has passed
+	 */
+	private void trySend() {
+		PendingEdit edit;
+		synchronized (this) {
+			if (closed || inFlight || pending == null || sendTimeout != null)
+				return;
+			long waitNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis) - (System.nanoTime() - lastSentAt);
+			if (waitNanos > 0) {
+				sendTimeout = DiscordBotCoordinator.getCoordinator(client).getTimer().newTimeout(this, waitNanos, TimeUnit.NANOSECONDS);
+				return;
+			}
+			edit = pending;
+			pending = null;
+			if (edit.key.equals(lastSentKey)) {
+				droppedCount.increment();
+				return;
+			}
+			inFlight = true;
+			lastSentAt = System.nanoTime();
+		}
+		send(edit);
+	}
+
+	/**
+	 * Used locally to send an edit straight to the REST route, the next pending edit is tried once it finishes
+	 *
+	 * @param edit
+	 */
+	private void send(PendingEdit edit) {
+		edit.attempts++;
+		DiscordMetrics.time(client, DiscordMetrics.Operation.EDIT, DiscordRestAccess.editMessage(client, channelID, messageID, edit.request)).subscribe(message -> {
+					DiscordMessageCache.getCache(client).put(message);
+					sentCount.increment();
+					synchronized (this) {
+						lastSentKey = edit.key;
+					}
+				}, error -> {
+					DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Live message " + messageID.asString() + " could not be edited, error: " + error.getMessage());
+					if (error instanceof ClientException && ((ClientException) error).getStatus().code() == 404)
+						close();
+					else
+						retry(edit);
+					onSendFinished();
+				}, this::onSendFinished);
+	}
+
+	/**
+	 * Used locally to queue a failed edit to be sent again, unless newer content has replaced it or it has used up its attempts
+	 *
+	 * @param edit
+	 */
+	private synchronized void retry(PendingEdit edit) {
+		if (closed || pending != null)
+			return;
+		if (edit.attempts >= MAX_EDIT_ATTEMPTS) {
+			droppedCount.increment();
+			return;
+		}
+		pending = edit;
+	}
+
+	private void onSendFinished() {
+		synchronized (this) {
+			inFlight = false;
+		}
+		trySend();
+	}
+
+	/**
+	 * Stop sending edits, any pending edit is dropped
+	 */
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			pending = null;
+			if (sendTimeout != null) {
+				sendTimeout.cancel();
+				sendTimeout = null;
+			}
+		}
+	}
+
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	public Snowflake getChannelID() {
+		return channelID;
+	}
+
+	public Snowflake getMessageID() {
+		return messageID;
+	}
+
+	public long getMinIntervalMillis() {
+		return minIntervalMillis;
+	}
+
+	/**
+	 * Sets the shortest time between two edits being sent, which caps how often the message is updated
+	 *
+	 * @param minIntervalMillis
+	 */
+	public void setMinIntervalMillis(long minIntervalMillis) {
+		this.minIntervalMillis = minIntervalMillis;
+	}
+
+	/**
+	 * Gets how many edits have been sent
+	 *
+	 * @return
+	 */
+	public long getSentCount() {
+		return sentCount.sum();
+	}
+
+	/**
+	 * Gets how many posted updates were never sent, because newer content replaced them, they matched what was last sent or every attempt to send them failed
+	 *
+	 * @return
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	private static class PendingEdit {
+		private final MessageEditRequest request;
+		private final String key;
+		private int attempts;
+
+		private PendingEdit(MessageEditRequest request, String key) {
+			this.request = request;
+			this.key = key;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.metrics.DiscordMetrics;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
+import discord4j.rest.http.client.ClientException;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Buffers text messages sent to a channel and packs them into as few messages as possible, split on line boundaries instead of being truncated. A channel's buffer is flushed at
+ * most one window after its first message was buffered, or straight away once it holds enough to fill several messages. Messages are always sent in the order they were buffered.
+ * Coalescing is opt in per channel and only applies to fire and forget sends made with {@link DiscordSendMessageManager#sendCoalescedMessage}, sends whose message is used
+ * afterwards are never coalesced
+ */
+public class DiscordMessageCoalescer {
+	public static final int MAX_MESSAGE_LENGTH = 2000;
+	public static final long DEFAULT_WINDOW_MILLIS = 1000;
+	public static final int DEFAULT_MAX_BUFFERED_CHARACTERS = MAX_MESSAGE_LENGTH * 10;
+
+	private final DiscordClient client;
+	private final NonBlockingHashMapLong<ChannelBuffer> buffers = new NonBlockingHashMapLong<ChannelBuffer>();
+	private volatile long windowMillis;
+	private volatile int maxBufferedCharacters = DEFAULT_MAX_BUFFERED_CHARACTERS;
+
+	public DiscordMessageCoalescer(DiscordClient client) {
+		this(client, DEFAULT_WINDOW_MILLIS);
+	}
+
+	public DiscordMessageCoalescer(DiscordClient client, long windowMillis) {
+		super();
+		this.client = client;
+		this.windowMillis = windowMillis;
+	}
+
+	/**
+	 * Start coalescing messages sent to a channel
+	 *
+	 * @param channelID
+	 */
+	public void enable(Snowflake channelID) {
+		buffers.putIfAbsent(channelID.asLong(), new ChannelBuffer(channelID));
+	}
+
+	/**
+	 * Stop coalescing messages sent to a channel, anything already buffered is flushed
+	 *
+	 * @param channelID
+	 */
+	public void disable(Snowflake channelID) {
+		ChannelBuffer buffer = buffers.remove(channelID.asLong());
+		if (buffer != null)
+			buffer.flush();
+	}
+
+	public boolean isEnabled(Snowflake channelID) {
+		return buffers.containsKey(channelID.asLong());
+	}
+
+	/**
+	 * Buffer a message for a channel, sends it straight away if coalescing is not enabled for the channel
+	 *
+	 * @param channelID
+	 * @param message
+	 * @return hot cached Mono of the sent message that carried the end of this message, empty for a blank message as Discord would reject it
+	 */
+	public Mono<Message> submit(Snowflake channelID, String message) {
+		ChannelBuffer buffer = buffers.get(channelID.asLong());
+		if (buffer == null)
+			return DiscordSendMessageManager.sendMessageAsync(client, channelID, message);
+		if (message.trim().isEmpty())
+			return Mono.empty();
+		MonoProcessor<Message> result = MonoProcessor.create();
+		buffer.add(new PendingMessage(message, result));
+		return result;
+	}
+
+	/**
+	 * Flush every channel's buffer straight away
+	 */
+	public void flushAll() {
+		for (ChannelBuffer buffer : buffers.values())
+			buffer.flush();
+	}
+
+	public long getWindowMillis() {
+		return windowMillis;
+	}
+
+	/**
+	 * Sets the longest a message can wait in a buffer before it is sent
+	 *
+	 * @param windowMillis
+	 */
+	public void setWindowMillis(long windowMillis) {
+		this.windowMillis = windowMillis;
+	}
+
+	public int getMaxBufferedCharacters() {
+		return maxBufferedCharacters;
+	}
+
+	/**
+	 * Sets how many characters a channel's buffer can hold before it is flushed without waiting for the window
+	 *
+	 * @param maxBufferedCharacters
+	 */
+	public void setMaxBufferedCharacters(int maxBufferedCharacters) {
+		this.maxBufferedCharacters = maxBufferedCharacters;
+	}
+
+	/**
+	 * Splits a message into parts that fit in a Discord message, splitting on line boundaries where possible. Lines that are too long by themselves are split at the limit. Blank
+	 * lines are kept, but a part that would only hold blank lines is dropped as Discord rejects it
+	 *
+	 * @param message
+	 * @return empty if the message is blank
+	 */
+	public static List<String> splitMessage(String message) {
+		List<String> parts = new ArrayList<String>();
+		StringBuilder current = null;
+		for (String line : message.split("\n", -1)) {
+			while (line.length() > MAX_MESSAGE_LENGTH) {
+				if (current != null) {
+					addPart(parts, current);
+					current = null;
+				}
+				parts.add(line.substring(0, MAX_MESSAGE_LENGTH));
+				line = line.substring(MAX_MESSAGE_LENGTH);
+			}
+			if (current != null && current.length() + 1 + line.length() > MAX_MESSAGE_LENGTH) {
+				addPart(parts, current);
+				current = null;
+			}
+			if (current == null)
+				current = new StringBuilder(line);
+			else
+				current.append('\n').append(line);
+		}
+		if (current != null)
+			addPart(parts, current);
+		return parts;
+	}
+
+	private static void addPart(List<String> parts, StringBuilder part) {
+		if (part.toString().trim().length() > 0)
+			parts.add(part.toString());
+	}
+
+	private static class PendingMessage {
+		private final String content;
+		private final MonoProcessor<Message> result;
+
+		private PendingMessage(String content, MonoProcessor<Message> result) {
+			this.content = content;
+			this.result = result;
+		}
+	}
+
+	private class ChannelBuffer implements TimerTask {
+		private final Snowflake channelID;
+		private List<PendingMessage> pending = new ArrayList<PendingMessage>();
+		private int bufferedCharacters;
+		private Timeout flushTimeout;
+		private Mono<Void> lastFlush = Mono.empty();
+
+		private ChannelBuffer(Snowflake channelID) {
+			this.channelID = channelID;
+		}
+
+		private void add(PendingMessage message) {
+			boolean flushNow;
+			synchronized (this) {
+				pending.add(message);
+				bufferedCharacters += message.content.length() + 1;
+				flushNow = bufferedCharacters >= maxBufferedCharacters;
+				if (!flushNow && flushTimeout == null)
+					flushTimeout = DiscordBotCoordinator.getCoordinator(client).getTimer().newTimeout(this, windowMillis, TimeUnit.MILLISECONDS);
+			}
+			if (flushNow)
+				flush();
+		}
+
+		@Override
+		public void run(Timeout timeout) {
+			flush();
+		}
+
+		/**
+		 * Packs the buffered messages and sends them, each flush waits for the previous one so messages stay in order
+		 */
+		private void flush() {
+			List<PendingMessage> messages;
+			Mono<Void> previous;
+			MonoProcessor<Void> done = MonoProcessor.create();
+			synchronized (this) {
+				if (flushTimeout != null) {
+					flushTimeout.cancel();
+					flushTimeout = null;
+				}
+				if (pending.isEmpty())
+					return;
+				messages = pending;
+				pending = new ArrayList<PendingMessage>();
+				bufferedCharacters = 0;
+				previous = lastFlush;
+				lastFlush = done;
+			}
+			List<String> packed = new ArrayList<String>();
+			List<List<MonoProcessor<Message>>> completes = new ArrayList<List<MonoProcessor<Message>>>();
+			StringBuilder current = new StringBuilder();
+			List<MonoProcessor<Message>> currentCompletes = new ArrayList<MonoProcessor<Message>>();
+			for (PendingMessage message : messages) {
+				for (String part : splitMessage(message.content)) {
+					if (current.length() > 0 && current.length() + 1 + part.length() > MAX_MESSAGE_LENGTH) {
+						packed.add(current.toString());
+						completes.add(currentCompletes);
+						current.setLength(0);
+						currentCompletes = new ArrayList<MonoProcessor<Message>>();
+					}
+					if (current.length() > 0)
+						current.append('\n');
+					current.append(part);
+				}
+				currentCompletes.add(message.result);
+			}
+			packed.add(current.toString());
+			completes.add(currentCompletes);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Coalesced " + messages.size() + " messages for Channel: " + channelID.asString() + " into " + packed.size() + " messages");
+
+			previous.onErrorResume(error -> Mono.empty()).thenMany(Flux.range(0, packed.size())).concatMap(index -> {
+				String content = packed.get(index);
+				return DiscordSendMessageManager.createMessageRequest(client, DiscordMetrics.Operation.SEND, channelID, spec -> spec.setContent(content), content).doOnNext(DiscordMessageCache.getCache(client)::put).doOnNext(message -> {
+					for (MonoProcessor<Message> result : completes.get(index))
+						result.onNext(message);
+				}).doOnError(error -> {
+					DiscordEventHooks.triggerMessageErrorEvent(client, "Coalesced message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException) error).getStatus() : null);
+					for (MonoProcessor<Message> result : completes.get(index))
+						result.onError(error);
+				}).onErrorResume(error -> Mono.empty());
+			}).doFinally(signal -> done.onComplete()).subscribe();
+		}
+	}
+}
@@ -0,0 +1,293 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordEventHooks;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.object.util.Snowflake;
+import discord4j.rest.http.client.ClientException;
+import io.netty.handler.codec.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Outbound dispatcher that holds one bounded queue per rate limit route bucket (per channel, per DM, per webhook). Each bucket sends one request at a time, the next request is
+ * only created once the previous one has finished so requests wait in the bucket's queue and callers are rejected once it is full. After a 429 response the bucket holds back
+ * until the reset from its rate limit headers has passed and the 429 is retried instead of being lost. Buckets are dropped once they are idle
+ */
+public class DiscordOutboundQueue {
+	public static final int DEFAULT_QUEUE_BOUND = 1000;
+	public static final long DEFAULT_RETRY_AFTER_MILLIS = 1000;
+	public static final int MAX_RATE_LIMIT_RETRIES = 3;
+
+	private final DiscordClient client;
+	private final Map<String, RouteBucket> buckets = new ConcurrentHashMap<String, RouteBucket>();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private volatile int queueBound;
+	private volatile long globalResetAt;
+
+	public DiscordOutboundQueue(DiscordClient client) {
+		this(client, DEFAULT_QUEUE_BOUND);
+	}
+
+	public DiscordOutboundQueue(DiscordClient client, int queueBound) {
+		super();
+		this.client = client;
+		this.queueBound = queueBound;
+	}
+
+	public static String getChannelBucket(Snowflake channelID) {
+		return "channel:" + channelID.asString();
+	}
+
+	public static String getPrivateBucket(Snowflake userID) {
+		return "dm:" + userID.asString();
+	}
+
+	public static String getDeleteBucket(Snowflake channelID) {
+		return "delete:" + channelID.asString();
+	}
+
+	public static String getWebhookBucket(Snowflake webhookID) {
+		return "webhook:" + webhookID.asString();
+	}
+
+	/**
+	 * Queue a request on a route bucket, the request is only created once the bucket is able to send it
+	 *
+	 * @param bucketKey
+	 * @param request
+	 * @return Mono that completes with the result of the request, errors straight away if the bucket is full
+	 */
+	public <T> Mono<T> submit(String bucketKey, Supplier<Mono<T>> request) {
+		PendingRequest<T> pending = new PendingRequest<T>(request);
+		while (true) {
+			RouteBucket bucket = buckets.computeIfAbsent(bucketKey, RouteBucket::new);
+			int offered = bucket.offer(pending);
+			if (offered == RouteBucket.EVICTED)
+				continue;
+			if (offered == RouteBucket.FULL)
+				return Mono.error(new IllegalStateException("Outbound queue for " + bucketKey + " is full, " + queueBound + " requests are already waiting"));
+			bucket.drain();
+			return pending.result;
+		}
+	}
+
+	/**
+	 * Gets the amount of requests waiting across every bucket
+	 *
+	 * @return
+	 */
+	public int getQueueDepth() {
+		return queueDepth.get();
+	}
+
+	/**
+	 * Gets the amount of requests waiting in a bucket
+	 *
+	 * @param bucketKey
+	 * @return
+	 */
+	public int getQueueDepth(String bucketKey) {
+		RouteBucket bucket = buckets.get(bucketKey);
+		return bucket == null ? 0 : bucket.getDepth();
+	}
+
+	/**
+	 * Gets a snapshot of the amount of requests waiting in each bucket that has any
+	 *
+	 * @return
+	 */
+	public Map<String, Integer> getQueueDepths() {
+		Map<String, Integer> depths = new HashMap<String, Integer>();
+		for (RouteBucket bucket : buckets.values()) {
+			int depth = bucket.getDepth();
+			if (depth > 0)
+				depths.put(bucket.key, depth);
+		}
+		return depths;
+	}
+
+	/**
+	 * Gets the amount of route buckets that have requests waiting, in flight or are waiting for a rate limit to reset
+	 *
+	 * @return
+	 */
+	public int getBucketCount() {
+		return buckets.size();
+	}
+
+	public int getQueueBound() {
+		return queueBound;
+	}
+
+	/**
+	 * Sets how many requests can wait in a single bucket before new requests are rejected
+	 *
+	 * @param queueBound
+	 */
+	public void setQueueBound(int queueBound) {
+		this.queueBound = queueBound;
+	}
+
+	/**
+	 * Used locally to read how long to wait from the headers of a 429 response
+	 *
+	 * @param headers
+	 * @param fallback
+	 * @return
+	 */
+	private static long getResetAfterMillis(HttpHeaders headers, long fallback) {
+		if (headers == null)
+			return fallback;
+		try {
+			String resetAfter = headers.get("X-RateLimit-Reset-After");
+			if (resetAfter != null)
+				return (long) Math.ceil(Double.parseDouble(resetAfter) * 1000);
+			String retryAfter = headers.get("Retry-After");
+			if (retryAfter != null)
+				return (long) Math.ceil(Double.parseDouble(retryAfter) * 1000);
+		} catch (NumberFormatException e) {
+		}
+		return fallback;
+	}
+
+	private static class PendingRequest<T> {
+		private final Supplier<Mono<T>> request;
+		private final MonoProcessor<T> result = MonoProcessor.create();
+		private int attempts;
+
+		private PendingRequest(Supplier<Mono<T>> request) {
+			this.request = request;
+		}
+	}
+
+	private class RouteBucket {
+		private static final int OFFERED = 0;
+		private static final int FULL = 1;
+		private static final int EVICTED = 2;
+
+		private final String key;
+		private final ArrayDeque<PendingRequest<?>> queue = new ArrayDeque<PendingRequest<?>>();
+		private long resetAt;
+		private int inFlight;
+		private boolean drainScheduled;
+		private boolean evicted;
+
+		private RouteBucket(String key) {
+			this.key = key;
+		}
+
+		private synchronized int getDepth() {
+			return queue.size();
+		}
+
+		private synchronized int offer(PendingRequest<?> pending) {
+			if (evicted)
+				return EVICTED;
+			if (queue.size() >= queueBound)
+				return FULL;
+			queue.offer(pending);
+			queueDepth.incrementAndGet();
+			return OFFERED;
+		}
+
+		/**
+		 * Used locally to send the next request in the bucket if none is in flight and the bucket is not rate limited, the rest stay queued until it finishes
+		 */
+		private void drain() {
+			PendingRequest<?> next = null;
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				boolean limited = now < resetAt || now < globalResetAt;
+				if (!limited && inFlight == 0 && !queue.isEmpty()) {
+					next = queue.poll();
+					queueDepth.decrementAndGet();
+					inFlight++;
+				}
+				if (limited && !queue.isEmpty() && !drainScheduled) {
+					drainScheduled = true;
+					long delay = Math.max(1, Math.max(resetAt, globalResetAt) - now);
+					Mono.delay(Duration.ofMillis(delay), DiscordBotCoordinator.getCoordinator(client).getWorkScheduler()).subscribe(ignored -> {
+						synchronized (this) {
+							drainScheduled = false;
+						}
+						drain();
+					});
+				}
+				evictIfIdle(now);
+			}
+			if (next != null)
+				send(next);
+		}
+
+		private <T> void send(PendingRequest<T> pending) {
+			pending.attempts++;
+			Mono<T> request;
+			try {
+				request = pending.request.get();
+			} catch (Exception e) {
+				pending.result.onError(e);
+				onFinished();
+				return;
+			}
+			request.subscribe(value -> pending.result.onNext(value), error -> {
+				if (error instanceof ClientException && ((ClientException) error).getStatus().code() == 429 && pending.attempts <= MAX_RATE_LIMIT_RETRIES) {
+					onRateLimited((ClientException) error, pending);
+					drain();
+				} else {
+					pending.result.onError(error);
+					onFinished();
+				}
+			}, () -> {
+				pending.result.onComplete();
+				onFinished();
+			});
+		}
+
+		private void onFinished() {
+			synchronized (this) {
+				inFlight--;
+				evictIfIdle(System.currentTimeMillis());
+			}
+			drain();
+		}
+
+		/**
+		 * Used locally to drop the bucket from the queue once nothing is waiting or in flight and it is not rate limited, callers hold the bucket's lock
+		 *
+		 * @param now
+		 */
+		private void evictIfIdle(long now) {
+			if (evicted || !queue.isEmpty() || inFlight > 0 || drainScheduled || now < resetAt)
+				return;
+			evicted = true;
+			buckets.remove(key, this);
+		}
+
+		private void onRateLimited(ClientException error, PendingRequest<?> pending) {
+			HttpHeaders headers = error.getHeaders();
+			long resetAfter = getResetAfterMillis(headers, DEFAULT_RETRY_AFTER_MILLIS);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Rate limited on " + key + ", retrying in " + resetAfter + "ms");
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				if (headers != null && headers.get("X-RateLimit-Global") != null)
+					globalResetAt = now + resetAfter;
+				else
+					resetAt = Math.max(resetAt, now + resetAfter);
+				inFlight--;
+				queue.offerFirst(pending);
+				queueDepth.incrementAndGet();
+			}
+		}
+	}
+}
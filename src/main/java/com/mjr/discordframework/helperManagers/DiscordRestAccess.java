@@ -0,0 +1,86 @@
+package com.mjr.discordframework.helperManagers;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.ServiceMediator;
+import discord4j.core.object.data.stored.MessageBean;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
+import discord4j.rest.json.request.BulkDeleteRequest;
+import discord4j.rest.json.request.MessageEditRequest;
+import discord4j.rest.service.ChannelService;
+import discord4j.rest.util.MultipartRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Raw REST routes the framework calls straight away instead of going through Discord4J's entity methods, so requests can be queued, retried and edited without fetching the
+ * entity first. This is the only place the framework reaches into the client's service mediator
+ */
+public class DiscordRestAccess {
+
+	/**
+	 * Create a message in a channel
+	 *
+	 * @param client
+	 * @param channelID
+	 * @param request
+	 * @return
+	 */
+	public static Mono<Message> createMessage(DiscordClient client, Snowflake channelID, MultipartRequest request) {
+		ServiceMediator serviceMediator = getServiceMediator(client);
+		return serviceMediator.getRestClient().getChannelService().createMessage(channelID.asLong(), request).map(response -> new Message(serviceMediator, new MessageBean(response)));
+	}
+
+	/**
+	 * Edit a message by id
+	 *
+	 * @param client
+	 * @param channelID
+	 * @param messageID
+	 * @param request
+	 * @return
+	 */
+	public static Mono<Message> editMessage(DiscordClient client, Snowflake channelID, Snowflake messageID, MessageEditRequest request) {
+		ServiceMediator serviceMediator = getServiceMediator(client);
+		return serviceMediator.getRestClient().getChannelService().editMessage(channelID.asLong(), messageID.asLong(), request).map(response -> new Message(serviceMediator, new MessageBean(response)));
+	}
+
+	/**
+	 * Delete a message by id
+	 *
+	 * @param client
+	 * @param channelID
+	 * @param messageID
+	 * @param reason null for no audit log reason
+	 * @return
+	 */
+	public static Mono<Void> deleteMessage(DiscordClient client, Snowflake channelID, Snowflake messageID, String reason) {
+		return getChannelService(client).deleteMessage(channelID.asLong(), messageID.asLong(), reason);
+	}
+
+	/**
+	 * Delete between 2 and 100 messages from a guild channel in one request
+	 *
+	 * @param client
+	 * @param channelID
+	 * @param messageIDs
+	 * @return
+	 */
+	public static Mono<Void> bulkDeleteMessages(DiscordClient client, Snowflake channelID, String[] messageIDs) {
+		return getChannelService(client).bulkDeleteMessages(channelID.asLong(), new BulkDeleteRequest(messageIDs));
+	}
+
+	private static ChannelService getChannelService(DiscordClient client) {
+		return getServiceMediator(client).getRestClient().getChannelService();
+	}
+
+	/**
+	 * Used locally to reach the client's REST client and state, Discord4J 3.0 deprecates this accessor but offers no other way to call a route with only ids
+	 *
+	 * @param client
+	 * @return
+	 */
+	@SuppressWarnings("deprecation")
+	private static ServiceMediator getServiceMediator(DiscordClient client) {
+		return client.getServiceMediator();
+	}
+}
@@ -1,21 +1,25 @@
 package com.mjr.discordframework.helperManagers;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.mjr.discordframework.DiscordBotBase;
 import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.cache.DiscordChannelCache;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.cache.DiscordUserCache;
+import com.mjr.discordframework.metrics.DiscordMetrics;
 
 import discord4j.core.DiscordClient;
 import discord4j.core.object.entity.*;
+import discord4j.core.object.util.Snowflake;
 import discord4j.core.spec.EmbedCreateSpec;
+import discord4j.core.spec.MessageCreateSpec;
 import discord4j.rest.http.client.ClientException;
 import reactor.core.publisher.Mono;
 
 public class DiscordSendMessageManager {
-	private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(20);
 
 	/**
 	 * Send a private message to a user
@@ -24,7 +28,11 @@ public class DiscordSendMessageManager {
 	 * @param message
 	 */
 	public static void sendPrivateMessage(DiscordClient client, Mono<User> user, String message) {
-		sendPrivateMessage(client, user.block(), message);
+		if (client == null)
+			return;
+		if (client.isConnected() == false)
+			return;
+		sendPrivateMessageAsync(client, user, message);
 	}
 
 	/**
@@ -38,18 +46,51 @@ public class DiscordSendMessageManager {
 			return;
 		if (client.isConnected() == false)
 			return;
-		if (message.length() > 2000)
-			message = message.substring(0, 2000);
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to User: " + user.getUsername() + " Message: " + message);
-			user.getPrivateChannel().block().createMessage(message).doOnError(error -> {
+		sendPrivateMessageAsync(client, user, message);
+	}
+
+	/**
+	 * Send a private message to a user without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param user
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendPrivateMessageAsync(DiscordClient client, Snowflake user, String message) {
+		return sendPrivateMessageAsync(client, DiscordUserCache.getCache(client).getUser(user), message);
+	}
+
+	/**
+	 * Send a private message to a user without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param user
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendPrivateMessageAsync(DiscordClient client, User user, String message) {
+		return sendPrivateMessageAsync(client, Mono.just(user), message);
+	}
+
+	/**
+	 * Send a private message to a user without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param user
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendPrivateMessageAsync(DiscordClient client, Mono<User> user, String message) {
+		final String content = message.length() > 2000 ? message.substring(0, 2000) : message;
+		Mono<Message> messageReturn = user.flatMap(temp -> {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send message to User: " + temp.getUsername() + " Message: " + content);
+			return queue(client, DiscordOutboundQueue.getPrivateBucket(temp.getId()), () -> temp.getPrivateChannel().flatMap(channel -> DiscordMetrics.time(client, DiscordMetrics.Operation.SEND, channel.createMessage(content)))).doOnError(error -> {
 				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Private Message could not be sent, error: " + error.getMessage());
-				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to send message to user " + user.getUsername());
-			}).subscribe();
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Private Message could not be sent, error: " + e.getMessage());
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to send message of ```" + message + "```" + " to user " + user.getUsername());
-		}
+				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, ":warning: unable to send message to user " + temp.getUsername());
+			});
+		}).doOnNext(DiscordMessageCache.getCache(client)::put).cache();
+		messageReturn.subscribe(temp -> {
+		}, error -> {
+		});
+		return messageReturn;
 	}
 
 	/**
@@ -75,18 +116,7 @@ public class DiscordSendMessageManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		if (message.length() > 2000)
-			message = message.substring(0, 2000);
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: " + message);
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(message).doOnError(error -> {
-				DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException)error).getStatus() : null);
-			});
-			return messageReturn.block();
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + e.getMessage(), null);
-			return null;
-		}
+		return sendMessageAsync(client, channel, message).onErrorResume(error -> Mono.empty()).block();
 	}
 
 	/**
@@ -112,19 +142,48 @@ public class DiscordSendMessageManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		if (message.length() > 2000)
-			message = message.substring(0, 2000);
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: " + message);
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(message).doOnError(error -> {
-				DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException)error).getStatus() : null);
-			});
-			messageReturn.subscribe();
-			return messageReturn;
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + e.getMessage(), null);
-			return null;
-		}
+		return sendMessageAsync(client, channel, message);
+	}
+
+	/**
+	 * Send a message to a channel without blocking, returns a hot cached Mono<Message> object. The message is never coalesced, see
+	 * {@link #sendCoalescedMessage(DiscordClient, Snowflake, String)}
+	 *
+	 * @param channel
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendMessageAsync(DiscordClient client, Snowflake channel, String message) {
+		final String content = message.length() > 2000 ? message.substring(0, 2000) : message;
+		return createMessage(client, DiscordMetrics.Operation.SEND, channel, spec -> spec.setContent(content), content, "Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Send a message to a channel without blocking, returns a hot cached Mono<Message> object. The message is never coalesced, see
+	 * {@link #sendCoalescedMessage(DiscordClient, Snowflake, String)}
+	 *
+	 * @param channel
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendMessageAsync(DiscordClient client, Mono<Channel> channel, String message) {
+		final String content = message.length() > 2000 ? message.substring(0, 2000) : message;
+		return createMessage(client, DiscordMetrics.Operation.SEND, channel, spec -> spec.setContent(content), content, "Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Send a message to a channel and forget about it. If the bot's MessageCoalescer is enabled for the channel the message is packed with others sent close together, so
+	 * long messages are split instead of truncated, otherwise it is sent the same way as {@link #sendMessageAsync(DiscordClient, Snowflake, String)}
+	 *
+	 * @param channel
+	 * @param message
+	 */
+	public static void sendCoalescedMessage(DiscordClient client, Snowflake channel, String message) {
+		DiscordMessageCoalescer coalescer = getCoalescer(client);
+		if (coalescer != null && coalescer.isEnabled(channel))
+			coalescer.submit(channel, message);
+		else
+			sendMessageAsync(client, channel, message);
 	}
 
 	/**
@@ -150,16 +209,7 @@ public class DiscordSendMessageManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(spec -> spec.setEmbed(builder)).doOnError(error -> {
-				DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException)error).getStatus() : null);
-			});
-			return messageReturn.block();
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + e.getMessage(), null);
-			return null;
-		}
+		return sendEmbeddedMessageAsync(client, channel, builder).onErrorResume(error -> Mono.empty()).block();
 	}
 
 	/**
@@ -185,16 +235,7 @@ public class DiscordSendMessageManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(spec -> spec.setEmbed(builder).setContent(message)).doOnError(error -> {
-				DiscordEventHooks.triggerMessageErrorEvent(client, "Embedded/Normal Message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException)error).getStatus() : null);
-			});
-			return messageReturn.block();
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageErrorEvent(client, "Embedded/Normal Message could not be sent due to an exception" + e.getMessage(), null);
-			return null;
-		}
+		return sendEmbeddedWithNormalMessageAsync(client, channel, builder, message).onErrorResume(error -> Mono.empty()).block();
 	}
 
 	/**
@@ -220,19 +261,151 @@ public class DiscordSendMessageManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(spec -> spec.setEmbed(builder)).doOnError(error -> {
-				DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + error.getMessage(), error instanceof ClientException ? ((ClientException)error).getStatus() : null);
+		return sendEmbeddedMessageAsync(client, channel, builder);
+	}
+
+	/**
+	 * Send a embedded message to a channel without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param channel
+	 * @param builder
+	 * @return
+	 */
+	public static Mono<Message> sendEmbeddedMessageAsync(DiscordClient client, Snowflake channel, Consumer<EmbedCreateSpec> builder) {
+		return createMessage(client, DiscordMetrics.Operation.EMBED_SEND, channel, spec -> spec.setEmbed(builder), "Embedded Message", "Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Send a embedded message to a channel without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param channel
+	 * @param builder
+	 * @return
+	 */
+	public static Mono<Message> sendEmbeddedMessageAsync(DiscordClient client, Mono<Channel> channel, Consumer<EmbedCreateSpec> builder) {
+		return createMessage(client, DiscordMetrics.Operation.EMBED_SEND, channel, spec -> spec.setEmbed(builder), "Embedded Message", "Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Send a embedded message with a normal message to a channel without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param channel
+	 * @param builder
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendEmbeddedWithNormalMessageAsync(DiscordClient client, Snowflake channel, Consumer<EmbedCreateSpec> builder, String message) {
+		return createMessage(client, DiscordMetrics.Operation.EMBED_SEND, channel, spec -> spec.setEmbed(builder).setContent(message), "Embedded Message", "Embedded/Normal Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Send a embedded message with a normal message to a channel without blocking, returns a hot cached Mono<Message> object
+	 *
+	 * @param channel
+	 * @param builder
+	 * @param message
+	 * @return
+	 */
+	public static Mono<Message> sendEmbeddedWithNormalMessageAsync(DiscordClient client, Mono<Channel> channel, Consumer<EmbedCreateSpec> builder, String message) {
+		return createMessage(client, DiscordMetrics.Operation.EMBED_SEND, channel, spec -> spec.setEmbed(builder).setContent(message), "Embedded Message", "Embedded/Normal Message could not be sent due to an exception");
+	}
+
+	/**
+	 * Used locally to send a message to a channel id, goes straight to the REST route so the channel is never fetched
+	 *
+	 * @param operation
+	 * @param channel
+	 * @param spec
+	 * @param logMessage
+	 * @param errorMessage
+	 * @return
+	 */
+	private static Mono<Message> createMessage(DiscordClient client, DiscordMetrics.Operation operation, Snowflake channel, Consumer<MessageCreateSpec> spec, String logMessage, String errorMessage) {
+		return subscribeCached(client, createMessageRequest(client, operation, channel, spec, logMessage), errorMessage);
+	}
+
+	/**
+	 * Used locally to build the request to send a message to a channel id, nothing is sent until the returned Mono is subscribed
+	 *
+	 * @param operation
+	 * @param channel
+	 * @param spec
+	 * @param logMessage
+	 * @return
+	 */
+	static Mono<Message> createMessageRequest(DiscordClient client, DiscordMetrics.Operation operation, Snowflake channel, Consumer<MessageCreateSpec> spec, String logMessage) {
+		return queue(client, DiscordOutboundQueue.getChannelBucket(channel), () -> {
+			DiscordChannelCache.CachedChannel cached = DiscordChannelCache.getCache(client).get(channel);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send message to Channel: " + (cached != null ? cached.getDisplayName() : channel.asString()) + " Message: " + logMessage);
+			MessageCreateSpec mutatedSpec = new MessageCreateSpec();
+			spec.accept(mutatedSpec);
+			return DiscordMetrics.time(client, operation, DiscordRestAccess.createMessage(client, channel, mutatedSpec.asRequest()));
+		});
+	}
+
+	/**
+	 * Used locally to send a message to a channel
+	 *
+	 * @param operation
+	 * @param channel
+	 * @param spec
+	 * @param logMessage
+	 * @param errorMessage
+	 * @return
+	 */
+	private static Mono<Message> createMessage(DiscordClient client, DiscordMetrics.Operation operation, Mono<Channel> channel, Consumer<MessageCreateSpec> spec, String logMessage, String errorMessage) {
+		Mono<Message> messageReturn = channel.ofType(MessageChannel.class).flatMap(messageChannel -> {
+			DiscordChannelCache.getCache(client).put(messageChannel);
+			return queue(client, DiscordOutboundQueue.getChannelBucket(messageChannel.getId()), () -> {
+				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send message to Channel: " + DiscordChannelCache.getDisplayName(messageChannel) + " Message: " + logMessage);
+				return DiscordMetrics.time(client, operation, messageChannel.createMessage(spec));
 			});
-			messageReturn.subscribe();
-			return messageReturn;
-		} catch (Exception e) {
-			DiscordEventHooks.triggerMessageErrorEvent(client, "Message could not be sent due to an exception" + e.getMessage(), null);
-			return null;
-		}
+		});
+		return subscribeCached(client, messageReturn, errorMessage);
+	}
+
+	/**
+	 * Used locally to send a request through the bot's outbound queue, requests for clients without a bot or with the queue turned off are sent straight away
+	 *
+	 * @param bucketKey
+	 * @param request
+	 * @return
+	 */
+	private static <T> Mono<T> queue(DiscordClient client, String bucketKey, Supplier<Mono<T>> request) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		DiscordOutboundQueue outboundQueue = bot == null ? null : bot.getOutboundQueue();
+		if (outboundQueue == null)
+			return Mono.defer(request);
+		return outboundQueue.submit(bucketKey, request);
+	}
+
+	/**
+	 * Used locally to get the bot's message coalescer
+	 *
+	 * @return null if the client has no bot or coalescing is turned off
+	 */
+	private static DiscordMessageCoalescer getCoalescer(DiscordClient client) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		return bot == null ? null : bot.getMessageCoalescer();
 	}
 
+	/**
+	 * Used locally to make a send hot, the send happens once straight away and every subscriber to the returned Mono gets the same result. Sent messages are added to the client's
+	 * message cache
+	 *
+	 * @param messageReturn
+	 * @param errorMessage
+	 * @return
+	 */
+	static Mono<Message> subscribeCached(DiscordClient client, Mono<Message> messageReturn, String errorMessage) {
+		Mono<Message> cached = messageReturn.doOnNext(DiscordMessageCache.getCache(client)::put).doOnError(error -> {
+			DiscordEventHooks.triggerMessageErrorEvent(client, errorMessage + error.getMessage(), error instanceof ClientException ? ((ClientException) error).getStatus() : null);
+		}).cache();
+		cached.subscribe(message -> {
+		}, error -> {
+		});
+		return cached;
+	}
 
 	/**
 	 * Send a timed message to a channel
@@ -280,12 +453,11 @@ public class DiscordSendMessageManager {
 		if (client.isConnected() == false)
 			return;
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send timed message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: " + message);
-			Message lastMessage = sendMessage(client, channel, message);
+			Mono<Channel> resolvedChannel = DiscordChannelCache.getCache(client).resolve(channel);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send timed message to Channel: " + resolvedChannel.map(DiscordChannelCache::getDisplayName).block() + " Message: " + message);
+			Message lastMessage = sendMessage(client, resolvedChannel, message);
 			if (lastMessage != null) {
-				scheduler.schedule(() -> {
-					DiscordDeleteMessageManager.deleteMessage(client, botBase, lastMessage, "Timed Message Delete");
-				}, delay, timeUnit);
+				botBase.getTimedDeleteScheduler().schedule(lastMessage, delay, timeUnit);
 			}
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageErrorEvent(client, "Timed Message could not be sent due to an exception" + e.getMessage(), null);
@@ -318,12 +490,11 @@ public class DiscordSendMessageManager {
 		if (client.isConnected() == false)
 			return;
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send timed message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Message lastMessage = sendEmbeddedMessage(client, channel, builder);
+			Mono<Channel> resolvedChannel = DiscordChannelCache.getCache(client).resolve(channel);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send timed message to Channel: " + resolvedChannel.map(DiscordChannelCache::getDisplayName).block() + " Message: Embedded Message");
+			Message lastMessage = sendEmbeddedMessage(client, resolvedChannel, builder);
 			if (lastMessage != null) {
-				scheduler.schedule(() -> {
-					DiscordDeleteMessageManager.deleteMessage(client, botBase, lastMessage, "Timed Message Delete");
-				}, delay, timeUnit);
+				botBase.getTimedDeleteScheduler().schedule(lastMessage, delay, timeUnit);
 			}
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageErrorEvent(client, "Timed Message could not be sent due to an exception" + e.getMessage(), null);
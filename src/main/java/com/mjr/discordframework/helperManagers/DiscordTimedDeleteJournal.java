@@ -0,0 +1,228 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.DiscordBotCoordinator;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+/**
+ * Append only, memory mapped journal of pending timed deletes so they survive restarts. Each record is the channel id, message id and deadline, a finished delete is marked by
+ * clearing its deadline. The journal grows when it fills up and is compacted in place and forced to disk periodically, off the append path, from the coordinator's timer
+ */
+public class DiscordTimedDeleteJournal implements Closeable, TimerTask {
+	public static final int DEFAULT_INITIAL_RECORDS = 65536;
+	public static final long DEFAULT_COMPACTION_INTERVAL_SECONDS = 60;
+
+	private static final int MAGIC = 0x44544A31;
+	private static final int HEADER_SIZE = 16;
+	private static final int RECORD_SIZE = 24;
+	private static final int WRITE_INDEX_POSITION = 8;
+
+	private final FileChannel fileChannel;
+	private final NonBlockingHashMapLong<Integer> recordIndexes = new NonBlockingHashMapLong<Integer>();
+	private final DiscordBotCoordinator coordinator;
+	private final long compactionIntervalNanos;
+	private MappedByteBuffer buffer;
+	private int capacity;
+	private int writeIndex;
+	private boolean closed;
+	private Timeout compactionTimeout;
+
+	public DiscordTimedDeleteJournal(Path path) throws IOException {
+		this(path, DiscordBotCoordinator.getDefault());
+	}
+
+	public DiscordTimedDeleteJournal(Path path, DiscordBotCoordinator coordinator) throws IOException {
+		this(path, DEFAULT_INITIAL_RECORDS, DEFAULT_COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS, coordinator);
+	}
+
+	/**
+	 * @param path
+	 * @param initialRecords
+	 * @param compactionInterval how often the journal is compacted and forced to disk
+	 * @param timeUnit
+	 * @param coordinator whose timer schedules the compaction and whose work scheduler runs it
+	 * @throws IOException
+	 */
+	public DiscordTimedDeleteJournal(Path path, int initialRecords, long compactionInterval, TimeUnit timeUnit, DiscordBotCoordinator coordinator) throws IOException {
+		super();
+		this.coordinator = coordinator;
+		this.compactionIntervalNanos = timeUnit.toNanos(compactionInterval);
+		this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long existingRecords = Math.max(0, (fileChannel.size() - HEADER_SIZE) / RECORD_SIZE);
+		map((int) Math.max(initialRecords, existingRecords));
+		if (buffer.getInt(0) != MAGIC) {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, 1);
+			buffer.putLong(WRITE_INDEX_POSITION, 0);
+		}
+		this.writeIndex = (int) Math.min(buffer.getLong(WRITE_INDEX_POSITION), capacity);
+		for (int index = 0; index < writeIndex; index++) {
+			if (getDeadline(index) == 0)
+				continue;
+			Integer previous = recordIndexes.put(getMessageID(index), Integer.valueOf(index));
+			if (previous != null)
+				buffer.putLong(HEADER_SIZE + previous.intValue() * RECORD_SIZE + 16, 0);
+		}
+		this.compactionTimeout = coordinator.getTimer().newTimeout(this, compactionIntervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Record a pending timed delete, replaces any record already held for the message
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param deadline epoch millis the message should be deleted at
+	 */
+	public synchronized void append(long channelID, long messageID, long deadline) {
+		if (closed)
+			return;
+		remove(messageID);
+		if (writeIndex >= capacity)
+			grow();
+		int position = HEADER_SIZE + writeIndex * RECORD_SIZE;
+		buffer.putLong(position, channelID);
+		buffer.putLong(position + 8, messageID);
+		buffer.putLong(position + 16, deadline == 0 ? 1 : deadline);
+		recordIndexes.put(messageID, Integer.valueOf(writeIndex));
+		writeIndex++;
+		buffer.putLong(WRITE_INDEX_POSITION, writeIndex);
+	}
+
+	/**
+	 * Mark the timed delete for a message as finished
+	 *
+	 * @param messageID
+	 */
+	public synchronized void remove(long messageID) {
+		if (closed)
+			return;
+		Integer index = recordIndexes.remove(messageID);
+		if (index != null)
+			buffer.putLong(HEADER_SIZE + index.intValue() * RECORD_SIZE + 16, 0);
+	}
+
+	/**
+	 * Pass every pending timed delete to the consumer, used to reschedule them on startup
+	 *
+	 * @param consumer
+	 */
+	public synchronized void replay(EntryConsumer consumer) {
+		for (int index = 0; index < writeIndex; index++) {
+			long deadline = getDeadline(index);
+			if (deadline != 0)
+				consumer.accept(getChannelID(index), getMessageID(index), deadline);
+		}
+	}
+
+	/**
+	 * Gets the amount of timed deletes still pending in the journal
+	 *
+	 * @return
+	 */
+	public int getPendingCount() {
+		return recordIndexes.size();
+	}
+
+	/**
+	 * Moves every pending record to the front of the journal, dropping the finished ones. A crash part way through only leaves duplicate records behind, the earlier copies are
+	 * cleared when the journal is next opened so only one record per message stays pending
+	 */
+	public synchronized void compact() {
+		if (closed)
+			return;
+		int compactedIndex = 0;
+		for (int index = 0; index < writeIndex; index++) {
+			long deadline = getDeadline(index);
+			if (deadline == 0)
+				continue;
+			long channelID = getChannelID(index);
+			long messageID = getMessageID(index);
+			if (compactedIndex != index) {
+				int position = HEADER_SIZE + compactedIndex * RECORD_SIZE;
+				buffer.putLong(position, channelID);
+				buffer.putLong(position + 8, messageID);
+				buffer.putLong(position + 16, deadline);
+				recordIndexes.put(messageID, Integer.valueOf(compactedIndex));
+			}
+			compactedIndex++;
+		}
+		buffer.putLong(WRITE_INDEX_POSITION, compactedIndex);
+		for (int index = compactedIndex; index < writeIndex; index++)
+			buffer.putLong(HEADER_SIZE + index * RECORD_SIZE + 16, 0);
+		writeIndex = compactedIndex;
+	}
+
+	/**
+	 * Writes the journal out to disk so pending deletes survive the machine going down, not only the process
+	 */
+	public synchronized void force() {
+		if (!closed)
+			buffer.force();
+	}
+
+	/**
+	 * Used locally when the compaction interval has passed, the compaction is handed to the work scheduler so the timer thread is never held up by it
+	 */
+	@Override
+	public void run(Timeout timeout) {
+		coordinator.getWorkScheduler().schedule(() -> {
+			compact();
+			force();
+			synchronized (this) {
+				if (!closed)
+					compactionTimeout = coordinator.getTimer().newTimeout(this, compactionIntervalNanos, TimeUnit.NANOSECONDS);
+			}
+		});
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed)
+			return;
+		compact();
+		buffer.force();
+		closed = true;
+		compactionTimeout.cancel();
+		fileChannel.close();
+	}
+
+	private void grow() {
+		try {
+			map(capacity * 2);
+		} catch (IOException e) {
+			throw new IllegalStateException("Timed delete journal could not be grown", e);
+		}
+	}
+
+	private void map(int records) throws IOException {
+		this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+		this.capacity = records;
+	}
+
+	private long getChannelID(int index) {
+		return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE);
+	}
+
+	private long getMessageID(int index) {
+		return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + 8);
+	}
+
+	private long getDeadline(int index) {
+		return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + 16);
+	}
+
+	public interface EntryConsumer {
+		void accept(long channelID, long messageID, long deadline);
+	}
+}
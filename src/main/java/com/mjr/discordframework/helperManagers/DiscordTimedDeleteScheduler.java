@@ -0,0 +1,284 @@
+package com.mjr.discordframework.helperManagers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.DiscordBotCoordinator;
+import com.mjr.discordframework.DiscordEventHooks;
+
+import discord4j.core.DiscordClient;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.util.Snowflake;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+/**
+ * Schedules timed message deletes for a bot on the hashed wheel timer of its {@link DiscordBotCoordinator}, shared by every bot using that coordinator. Each pending delete only holds the channel id and message id, inserts and
+ * cancels are O(1). Deletes that expire close together in the same channel are coalesced into bulk deletes
+ */
+public class DiscordTimedDeleteScheduler {
+	public static final String TIMED_DELETE_REASON = "Timed Message Delete";
+	public static final long DEFAULT_COALESCE_WINDOW_MILLIS = 250;
+
+	private final HashedWheelTimer timer;
+	private final DiscordClient client;
+	private final DiscordBotBase botBase;
+	private final NonBlockingHashMapLong<TimedDelete> pending = new NonBlockingHashMapLong<TimedDelete>();
+	private final NonBlockingHashMapLong<ExpiredBatch> expiredBatches = new NonBlockingHashMapLong<ExpiredBatch>();
+	private volatile DiscordTimedDeleteJournal journal;
+	private volatile long coalesceWindowMillis = DEFAULT_COALESCE_WINDOW_MILLIS;
+
+	public DiscordTimedDeleteScheduler(DiscordClient client, DiscordBotBase botBase) {
+		super();
+		this.client = client;
+		this.botBase = botBase;
+		this.timer = botBase.getCoordinator().getTimer();
+	}
+
+	/**
+	 * Gets the timer deletes are scheduled on, shared by every bot using the same coordinator
+	 *
+	 * @return
+	 */
+	public HashedWheelTimer getTimer() {
+		return timer;
+	}
+
+	/**
+	 * Schedule a message to be deleted after a delay
+	 *
+	 * @param message
+	 * @param delay
+	 * @param timeUnit
+	 */
+	public void schedule(Message message, long delay, TimeUnit timeUnit) {
+		schedule(message.getChannelId(), message.getId(), delay, timeUnit);
+	}
+
+	/**
+	 * Schedule a message to be deleted after a delay, replaces any delete already scheduled for the message
+	 *
+	 * @param channelID
+	 * @param messageID
+	 * @param delay
+	 * @param timeUnit
+	 */
+	public void schedule(Snowflake channelID, Snowflake messageID, long delay, TimeUnit timeUnit) {
+		DiscordTimedDeleteJournal temp = this.journal;
+		if (temp != null)
+			temp.append(channelID.asLong(), messageID.asLong(), System.currentTimeMillis() + timeUnit.toMillis(delay));
+		schedule(channelID.asLong(), messageID.asLong(), timeUnit.toMillis(delay));
+	}
+
+	private void schedule(long channelID, long messageID, long delayMillis) {
+		TimedDelete task = new TimedDelete(channelID, messageID);
+		TimedDelete previous = pending.put(messageID, task);
+		if (previous != null)
+			previous.cancel();
+		task.timeout = timer.newTimeout(task, delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Cancel a scheduled delete, for when the message has already been deleted
+	 *
+	 * @param messageID
+	 * @return true if a delete was pending for the message
+	 */
+	public boolean cancel(Snowflake messageID) {
+		return cancel(messageID.asLong());
+	}
+
+	public boolean cancel(long messageID) {
+		DiscordTimedDeleteJournal temp = this.journal;
+		if (temp != null)
+			temp.remove(messageID);
+		TimedDelete task = pending.remove(messageID);
+		if (task == null)
+			return false;
+		task.cancel();
+		return true;
+	}
+
+	/**
+	 * Gets the amount of deletes still waiting for this bot
+	 *
+	 * @return
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	public DiscordTimedDeleteJournal getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Sets the journal pending deletes are recorded in so they survive restarts. Deletes already in the journal are replayed, ones that are overdue are run straight away and the
+	 * rest are rescheduled for their remaining time
+	 *
+	 * @param journal null to stop journaling, the previous journal is closed
+	 */
+	public void setJournal(DiscordTimedDeleteJournal journal) {
+		DiscordTimedDeleteJournal previous = this.journal;
+		this.journal = journal;
+		if (previous != null && previous != journal)
+			closeJournal(previous);
+		if (journal == null)
+			return;
+		long now = System.currentTimeMillis();
+		journal.replay((channelID, messageID, deadline) -> {
+			if (deadline <= now)
+				onExpired(channelID, messageID);
+			else
+				schedule(channelID, messageID, deadline - now);
+		});
+	}
+
+	/**
+	 * Stops running timed deletes, the pending deletes stay in the journal so they are replayed the next time it is opened. The journal is closed
+	 */
+	public void shutdown() {
+		for (TimedDelete timedDelete : pending.values())
+			timedDelete.cancel();
+		pending.clear();
+		DiscordTimedDeleteJournal temp = this.journal;
+		this.journal = null;
+		if (temp != null)
+			closeJournal(temp);
+	}
+
+	private void closeJournal(DiscordTimedDeleteJournal journal) {
+		try {
+			journal.close();
+		} catch (IOException e) {
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Unable to close timed delete journal, error: " + e.getMessage());
+		}
+	}
+
+	public long getCoalesceWindowMillis() {
+		return coalesceWindowMillis;
+	}
+
+	/**
+	 * Sets how long an expired delete waits for others in the same channel to expire so they can be sent as one bulk delete
+	 *
+	 * @param coalesceWindowMillis 0 to delete each message as soon as it expires
+	 */
+	public void setCoalesceWindowMillis(long coalesceWindowMillis) {
+		this.coalesceWindowMillis = coalesceWindowMillis;
+	}
+
+	/**
+	 * Used locally to run an expired delete, it is added to its channel's batch which is flushed once the coalesce window has passed
+	 *
+	 * @param channelID
+	 * @param messageID
+	 */
+	protected void onExpired(long channelID, long messageID) {
+		long window = this.coalesceWindowMillis;
+		if (window <= 0) {
+			List<Long> messageIDs = new ArrayList<Long>(1);
+			messageIDs.add(messageID);
+			deleteExpired(channelID, messageIDs);
+			return;
+		}
+		while (true) {
+			ExpiredBatch batch = expiredBatches.get(channelID);
+			boolean created = false;
+			if (batch == null) {
+				batch = new ExpiredBatch(channelID);
+				ExpiredBatch existing = expiredBatches.putIfAbsent(channelID, batch);
+				if (existing != null)
+					batch = existing;
+				else
+					created = true;
+			}
+			if (batch.add(messageID)) {
+				if (created)
+					timer.newTimeout(batch, window, TimeUnit.MILLISECONDS);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Used locally to delete a channel's expired messages, the REST calls are subscribed so the timer thread is never blocked. The journal records are only cleared once the
+	 * deletes have finished, records of deletes that failed are kept so they are tried again the next time the journal is replayed
+	 *
+	 * @param channelID
+	 * @param messageIDs
+	 */
+	private void deleteExpired(long channelID, List<Long> messageIDs) {
+		List<Snowflake> ids = new ArrayList<Snowflake>(messageIDs.size());
+		for (Long messageID : messageIDs)
+			ids.add(Snowflake.of(messageID));
+		DiscordDeleteMessageManager.tryDeleteMessagesAsync(client, botBase, Snowflake.of(channelID), ids, TIMED_DELETE_REASON).map(Snowflake::asLong).collect(Collectors.toSet()).subscribe(failed -> {
+			for (Long messageID : messageIDs)
+				if (!failed.contains(messageID))
+					onFinished(messageID);
+		});
+	}
+
+	private void onFinished(long messageID) {
+		DiscordTimedDeleteJournal temp = this.journal;
+		if (temp != null && !pending.containsKey(messageID))
+			temp.remove(messageID);
+	}
+
+	private class ExpiredBatch implements TimerTask {
+		private final long channelID;
+		private final List<Long> messageIDs = new ArrayList<Long>();
+		private boolean flushed;
+
+		private ExpiredBatch(long channelID) {
+			this.channelID = channelID;
+		}
+
+		private synchronized boolean add(long messageID) {
+			if (flushed)
+				return false;
+			messageIDs.add(messageID);
+			return true;
+		}
+
+		@Override
+		public void run(Timeout timeout) {
+			expiredBatches.remove(channelID, this);
+			synchronized (this) {
+				flushed = true;
+			}
+			deleteExpired(channelID, messageIDs);
+		}
+	}
+
+	private class TimedDelete implements TimerTask {
+		private final long channelID;
+		private final long messageID;
+		private volatile Timeout timeout;
+
+		private TimedDelete(long channelID, long messageID) {
+			this.channelID = channelID;
+			this.messageID = messageID;
+		}
+
+		private void cancel() {
+			Timeout temp = this.timeout;
+			if (temp != null)
+				temp.cancel();
+		}
+
+		@Override
+		public void run(Timeout timeout) {
+			if (!pending.remove(messageID, this))
+				return;
+			onExpired(channelID, messageID);
+		}
+	}
+}
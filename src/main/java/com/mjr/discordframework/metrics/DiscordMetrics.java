@@ -0,0 +1,268 @@
+package com.mjr.discordframework.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mjr.discordframework.DiscordBotBase;
+
+import discord4j.core.DiscordClient;
+import discord4j.rest.http.client.ClientException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counters and latency histograms for a bot's REST operations, error counts by HTTP status and event handler lag. Has no dependencies outside the framework, {@link #snapshot()}
+ * gives a copy of every value that can be scraped
+ */
+public class DiscordMetrics {
+	public enum Operation {
+		SEND, EMBED_SEND, EDIT, DELETE, BULK_DELETE, REACTION_ADD, REACTION_REMOVE
+	}
+
+	/**
+	 * Status used for errors that did not come with a HTTP response
+	 */
+	public static final int NO_STATUS = 0;
+
+	private final Map<Operation, OperationMetrics> operations = new EnumMap<Operation, OperationMetrics>(Operation.class);
+	private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<Integer, LongAdder>();
+	private final DiscordLatencyHistogram handlerLag = new DiscordLatencyHistogram();
+
+	public DiscordMetrics() {
+		super();
+		for (Operation operation : Operation.values())
+			operations.put(operation, new OperationMetrics());
+	}
+
+	/**
+	 * Gets the metrics of the bot that owns a client
+	 *
+	 * @param client
+	 * @return null if the client has no bot
+	 */
+	public static DiscordMetrics getMetrics(DiscordClient client) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		return bot == null ? null : bot.getMetrics();
+	}
+
+	/**
+	 * Times an operation for the bot that owns a client, the time is taken from subscription to completion
+	 *
+	 * @param client
+	 * @param operation
+	 * @param request
+	 * @return
+	 */
+	public static <T> Mono<T> time(DiscordClient client, Operation operation, Mono<T> request) {
+		DiscordMetrics metrics = getMetrics(client);
+		return metrics == null ? request : metrics.time(operation, request);
+	}
+
+	/**
+	 * Times an operation, the time is taken from subscription to completion
+	 *
+	 * @param operation
+	 * @param request
+	 * @return
+	 */
+	public <T> Mono<T> time(Operation operation, Mono<T> request) {
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return request.doOnSuccess(ignored -> recordSuccess(operation, System.nanoTime() - start)).doOnError(error -> recordError(operation, System.nanoTime() - start, error));
+		});
+	}
+
+	public void recordSuccess(Operation operation, long nanos) {
+		OperationMetrics metrics = operations.get(operation);
+		metrics.successCount.increment();
+		metrics.latency.recordNanos(nanos);
+	}
+
+	public void recordError(Operation operation, long nanos, Throwable error) {
+		OperationMetrics metrics = operations.get(operation);
+		metrics.errorCount.increment();
+		metrics.latency.recordNanos(nanos);
+		recordErrorStatus(error instanceof ClientException ? ((ClientException) error).getStatus().code() : NO_STATUS);
+	}
+
+	public void recordErrorStatus(int status) {
+		errorsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Record how long an event handler waited before it started running
+	 *
+	 * @param nanos
+	 */
+	public void recordHandlerLag(long nanos) {
+		handlerLag.recordNanos(nanos);
+	}
+
+	public DiscordLatencyHistogram getLatency(Operation operation) {
+		return operations.get(operation).latency;
+	}
+
+	public DiscordLatencyHistogram getHandlerLag() {
+		return handlerLag;
+	}
+
+	/**
+	 * Gets a copy of every metric
+	 *
+	 * @return
+	 */
+	public Snapshot snapshot() {
+		Map<Operation, OperationSnapshot> operationSnapshots = new EnumMap<Operation, OperationSnapshot>(Operation.class);
+		for (Map.Entry<Operation, OperationMetrics> entry : operations.entrySet())
+			operationSnapshots.put(entry.getKey(), new OperationSnapshot(entry.getValue().successCount.sum(), entry.getValue().errorCount.sum(), new LatencySnapshot(entry.getValue().latency)));
+		Map<Integer, Long> errors = new TreeMap<Integer, Long>();
+		for (Map.Entry<Integer, LongAdder> entry : errorsByStatus.entrySet())
+			errors.put(entry.getKey(), entry.getValue().sum());
+		return new Snapshot(operationSnapshots, errors, new LatencySnapshot(handlerLag));
+	}
+
+	/**
+	 * Clears every metric
+	 */
+	public void reset() {
+		for (OperationMetrics metrics : operations.values()) {
+			metrics.successCount.reset();
+			metrics.errorCount.reset();
+			metrics.latency.reset();
+		}
+		errorsByStatus.clear();
+		handlerLag.reset();
+	}
+
+	private static class OperationMetrics {
+		private final LongAdder successCount = new LongAdder();
+		private final LongAdder errorCount = new LongAdder();
+		private final DiscordLatencyHistogram latency = new DiscordLatencyHistogram();
+	}
+
+	public static class Snapshot {
+		private final Map<Operation, OperationSnapshot> operations;
+		private final Map<Integer, Long> errorsByStatus;
+		private final LatencySnapshot handlerLag;
+
+		public Snapshot(Map<Operation, OperationSnapshot> operations, Map<Integer, Long> errorsByStatus, LatencySnapshot handlerLag) {
+			super();
+			this.operations = operations;
+			this.errorsByStatus = errorsByStatus;
+			this.handlerLag = handlerLag;
+		}
+
+		public Map<Operation, OperationSnapshot> getOperations() {
+			return operations;
+		}
+
+		public OperationSnapshot getOperation(Operation operation) {
+			return operations.get(operation);
+		}
+
+		/**
+		 * @return error counts keyed by HTTP status, {@link DiscordMetrics#NO_STATUS} for errors without a response
+		 */
+		public Map<Integer, Long> getErrorsByStatus() {
+			return errorsByStatus;
+		}
+
+		public LatencySnapshot getHandlerLag() {
+			return handlerLag;
+		}
+
+		@Override
+		public String toString() {
+			return "Snapshot [operations=" + operations + ", errorsByStatus=" + errorsByStatus + ", handlerLag=" + handlerLag + "]";
+		}
+	}
+
+	public static class OperationSnapshot {
+		private final long successCount;
+		private final long errorCount;
+		private final LatencySnapshot latency;
+
+		public OperationSnapshot(long successCount, long errorCount, LatencySnapshot latency) {
+			super();
+			this.successCount = successCount;
+			this.errorCount = errorCount;
+			this.latency = latency;
+		}
+
+		public long getSuccessCount() {
+			return successCount;
+		}
+
+		public long getErrorCount() {
+			return errorCount;
+		}
+
+		public LatencySnapshot getLatency() {
+			return latency;
+		}
+
+		@Override
+		public String toString() {
+			return "[success=" + successCount + ", errors=" + errorCount + ", latency=" + latency + "]";
+		}
+	}
+
+	/**
+	 * Latency percentiles in microseconds
+	 */
+	public static class LatencySnapshot {
+		private final long count;
+		private final double mean;
+		private final long p50;
+		private final long p90;
+		private final long p99;
+		private final long p999;
+		private final long max;
+
+		public LatencySnapshot(DiscordLatencyHistogram histogram) {
+			super();
+			this.count = histogram.getCount();
+			this.mean = histogram.getMeanMicros();
+			this.p50 = histogram.getValueAtPercentile(50);
+			this.p90 = histogram.getValueAtPercentile(90);
+			this.p99 = histogram.getValueAtPercentile(99);
+			this.p999 = histogram.getValueAtPercentile(99.9);
+			this.max = histogram.getMaxMicros();
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		public long getP50() {
+			return p50;
+		}
+
+		public long getP90() {
+			return p90;
+		}
+
+		public long getP99() {
+			return p99;
+		}
+
+		public long getP999() {
+			return p999;
+		}
+
+		public long getMax() {
+			return max;
+		}
+
+		@Override
+		public String toString() {
+			return "[count=" + count + ", mean=" + String.format("%.1f", mean) + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99 + ", p999=" + p999 + ", max=" + max + "]";
+		}
+	}
+}
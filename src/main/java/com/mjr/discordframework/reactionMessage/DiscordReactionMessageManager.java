@@ -1,94 +1,281 @@
 package com.mjr.discordframework.reactionMessage;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+
+import org.jctools.maps.NonBlockingHashMapLong;
 
 import com.mjr.discordframework.reactionMessage.messageTypes.ReactionEmbeddedMessage;
 import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessageBase;
 
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.util.Snowflake;
 
 public class DiscordReactionMessageManager {
-	private Map<Message, ReactionMessage> reactionMessages = new HashMap<Message, ReactionMessage>();
-	private Map<Message, ReactionEmbeddedMessage> reactionEmbeddedMessages = new HashMap<Message, ReactionEmbeddedMessage>();
+	public static final int MAX_BOT_USER_FLAGS = 10000;
+
+	/**
+	 * Registered reaction messages, keyed by the primitive message id. Lookups, adds and removes are lock free and do not allocate so they are safe to call from the Reactor event threads
+	 */
+	private final NonBlockingHashMapLong<RegisteredReactionMessage<ReactionMessage>> reactionMessages = new NonBlockingHashMapLong<RegisteredReactionMessage<ReactionMessage>>();
+	private final NonBlockingHashMapLong<RegisteredReactionMessage<ReactionEmbeddedMessage>> reactionEmbeddedMessages = new NonBlockingHashMapLong<RegisteredReactionMessage<ReactionEmbeddedMessage>>();
+	private final Map<Message, ReactionMessage> reactionMessagesView = new RegistryView<ReactionMessage>(reactionMessages);
+	private final Map<Message, ReactionEmbeddedMessage> reactionEmbeddedMessagesView = new RegistryView<ReactionEmbeddedMessage>(reactionEmbeddedMessages);
 
+	/**
+	 * Whether a user id belongs to a bot account, filled in by the reaction handlers so bot checks do not need a user fetch. Cleared once it holds {@link #MAX_BOT_USER_FLAGS} users
+	 */
+	private final NonBlockingHashMapLong<Boolean> botUserFlags = new NonBlockingHashMapLong<Boolean>();
+
+	/**
+	 * Gets a live view of the registered reaction messages, changes to the returned map are made to the manager. Messages are matched by id
+	 *
+	 * @return
+	 */
 	public Map<Message, ReactionMessage> getReactionMessages() {
-		return reactionMessages;
+		return reactionMessagesView;
 	}
 
+	/**
+	 * Gets a live view of the registered reaction embedded messages, changes to the returned map are made to the manager. Messages are matched by id
+	 *
+	 * @return
+	 */
 	public Map<Message, ReactionEmbeddedMessage> getReactionEmbeddedMessages() {
-		return reactionEmbeddedMessages;
+		return reactionEmbeddedMessagesView;
+	}
+
+	public RegisteredReactionMessage<ReactionMessage> getRegisteredReactionMessage(long messageID) {
+		return reactionMessages.get(messageID);
+	}
+
+	public RegisteredReactionMessage<ReactionEmbeddedMessage> getRegisteredReactionEmbeddedMessage(long messageID) {
+		return reactionEmbeddedMessages.get(messageID);
+	}
+
+	/**
+	 * Gets the registered reaction message or reaction embedded message for the message id
+	 *
+	 * @param messageID
+	 * @return null if the message id is not registered
+	 */
+	public RegisteredReactionMessage<? extends ReactionMessageBase> getRegisteredReactionMessageBase(long messageID) {
+		RegisteredReactionMessage<? extends ReactionMessageBase> entry = reactionMessages.get(messageID);
+		if (entry != null)
+			return entry;
+		return reactionEmbeddedMessages.get(messageID);
 	}
 
 	public ReactionMessage getReactionMessageByMessageID(Snowflake messageID) {
-		for (Message message : reactionMessages.keySet()) {
-			if (message.getId().equals(messageID))
-				return reactionMessages.get(message);
-		}
-		return null;
+		return getReactionMessageByMessageID(messageID.asLong());
 	}
 
 	public ReactionMessage getReactionMessageByMessageID(Long messageID) {
-		for (Message message : reactionMessages.keySet()) {
-			if (message.getId().asLong() == messageID)
-				return reactionMessages.get(message);
-		}
-		return null;
+		return getReactionMessageByMessageID(messageID.longValue());
+	}
+
+	public ReactionMessage getReactionMessageByMessageID(long messageID) {
+		RegisteredReactionMessage<ReactionMessage> entry = reactionMessages.get(messageID);
+		return entry == null ? null : entry.getReactionMessage();
 	}
 
 	public ReactionEmbeddedMessage getReactionEmbeddedMessageByMessageID(Snowflake messageID) {
-		for (Message message : reactionMessages.keySet()) {
-			if (message.getId().equals(messageID))
-				return reactionEmbeddedMessages.get(message);
-		}
-		return null;
+		return getReactionEmbeddedMessageByMessageID(messageID.asLong());
 	}
 
 	public ReactionEmbeddedMessage getReactionEmbeddedMessageByMessageID(Long messageID) {
-		for (Message message : reactionMessages.keySet()) {
-			if (message.getId().asLong() == messageID)
-				return reactionEmbeddedMessages.get(message);
-		}
-		return null;
+		return getReactionEmbeddedMessageByMessageID(messageID.longValue());
 	}
 
-	public void setReactionMessages(Map<Message, ReactionMessage> reactionMessages) {
-		this.reactionMessages = reactionMessages;
+	public ReactionEmbeddedMessage getReactionEmbeddedMessageByMessageID(long messageID) {
+		RegisteredReactionMessage<ReactionEmbeddedMessage> entry = reactionEmbeddedMessages.get(messageID);
+		return entry == null ? null : entry.getReactionMessage();
 	}
 
-	public void addReactionMessage(Message message, ReactionMessage reactionMessage) {
-		this.reactionMessages.put(message, reactionMessage);
+	/**
+	 * Replaces all registered reaction messages with the given ones
+	 *
+	 * @param reactionMessages
+	 */
+	public void setReactionMessages(Map<Message, ReactionMessage> reactionMessages) {
+		if (reactionMessages == this.reactionMessagesView)
+			return;
+		this.reactionMessages.clear();
+		for (Map.Entry<Message, ReactionMessage> entry : reactionMessages.entrySet())
+			addReactionMessage(entry.getKey(), entry.getValue());
 	}
 
-	private void removeReactionMessage(Message message) {
-		this.reactionMessages.remove(message);
+	public void addReactionMessage(Message message, ReactionMessage reactionMessage) {
+		this.reactionMessages.put(message.getId().asLong(), new RegisteredReactionMessage<ReactionMessage>(message, reactionMessage));
 	}
 
+	/**
+	 * Replaces all registered reaction embedded messages with the given ones
+	 *
+	 * @param reactionEmbeddedMessages
+	 */
 	public void setReactionEmbeddedMessages(Map<Message, ReactionEmbeddedMessage> reactionEmbeddedMessages) {
-		this.reactionEmbeddedMessages = reactionEmbeddedMessages;
+		if (reactionEmbeddedMessages == this.reactionEmbeddedMessagesView)
+			return;
+		this.reactionEmbeddedMessages.clear();
+		for (Map.Entry<Message, ReactionEmbeddedMessage> entry : reactionEmbeddedMessages.entrySet())
+			addReactionEmbeddedMessage(entry.getKey(), entry.getValue());
 	}
 
 	public void addReactionEmbeddedMessage(Message message, ReactionEmbeddedMessage reactionMessage) {
-		this.reactionEmbeddedMessages.put(message, reactionMessage);
-	}
-
-	private void removeReactionEmbeddedMessage(Message message) {
-		this.reactionEmbeddedMessages.remove(message);
+		this.reactionEmbeddedMessages.put(message.getId().asLong(), new RegisteredReactionMessage<ReactionEmbeddedMessage>(message, reactionMessage));
 	}
 
 	public void removeEmbeddedMessage(Message message) {
-		removeEmbeddedMessage(message.getId());
+		removeEmbeddedMessage(message.getId().asLong());
 	}
 
 	public void removeEmbeddedMessage(Snowflake messageID) {
-		for (Message msg : this.reactionMessages.keySet()) {
-			if (msg.getId().asLong() == messageID.asLong())
-				removeReactionMessage(msg);
+		removeEmbeddedMessage(messageID.asLong());
+	}
+
+	/**
+	 * Removes any reaction message or reaction embedded message registered for the message id
+	 *
+	 * @param messageID
+	 */
+	public void removeEmbeddedMessage(long messageID) {
+		this.reactionMessages.remove(messageID);
+		this.reactionEmbeddedMessages.remove(messageID);
+	}
+
+	/**
+	 * Gets the cached bot flag for a user
+	 *
+	 * @param userID
+	 * @return null if the user has not been seen yet
+	 */
+	public Boolean getCachedBotUserFlag(long userID) {
+		return botUserFlags.get(userID);
+	}
+
+	/**
+	 * Caches the bot flag for a user, the flags are cleared once the cache is full so it can't grow with every user that ever reacts
+	 *
+	 * @param userID
+	 * @param bot
+	 */
+	public void setCachedBotUserFlag(long userID, boolean bot) {
+		if (botUserFlags.size() >= MAX_BOT_USER_FLAGS)
+			botUserFlags.clear();
+		botUserFlags.put(userID, Boolean.valueOf(bot));
+	}
+
+	public int getCachedBotUserFlagCount() {
+		return botUserFlags.size();
+	}
+
+	/**
+	 * Gets the total amount of registered reaction messages and reaction embedded messages
+	 *
+	 * @return
+	 */
+	public int size() {
+		return this.reactionMessages.size() + this.reactionEmbeddedMessages.size();
+	}
+
+	/**
+	 * Map view over a registry that is keyed by message id, so the old Message keyed map getters stay live
+	 *
+	 * @param <T>
+	 */
+	private static class RegistryView<T extends ReactionMessageBase> extends AbstractMap<Message, T> {
+		private final NonBlockingHashMapLong<RegisteredReactionMessage<T>> registry;
+
+		private RegistryView(NonBlockingHashMapLong<RegisteredReactionMessage<T>> registry) {
+			this.registry = registry;
+		}
+
+		@Override
+		public T get(Object key) {
+			if (!(key instanceof Message))
+				return null;
+			RegisteredReactionMessage<T> entry = registry.get(((Message) key).getId().asLong());
+			return entry == null ? null : entry.getReactionMessage();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof Message && registry.containsKey(((Message) key).getId().asLong());
+		}
+
+		@Override
+		public T put(Message key, T value) {
+			RegisteredReactionMessage<T> previous = registry.put(key.getId().asLong(), new RegisteredReactionMessage<T>(key, value));
+			return previous == null ? null : previous.getReactionMessage();
+		}
+
+		@Override
+		public T remove(Object key) {
+			if (!(key instanceof Message))
+				return null;
+			RegisteredReactionMessage<T> previous = registry.remove(((Message) key).getId().asLong());
+			return previous == null ? null : previous.getReactionMessage();
+		}
+
+		@Override
+		public int size() {
+			return registry.size();
+		}
+
+		@Override
+		public void clear() {
+			registry.clear();
 		}
-		for (Message msg : this.reactionEmbeddedMessages.keySet()) {
-			if (msg.getId().asLong() == messageID.asLong())
-				removeReactionEmbeddedMessage(msg);
+
+		@Override
+		public Set<Map.Entry<Message, T>> entrySet() {
+			return new AbstractSet<Map.Entry<Message, T>>() {
+				@Override
+				public int size() {
+					return registry.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<Message, T>> iterator() {
+					final Iterator<RegisteredReactionMessage<T>> values = registry.values().iterator();
+					return new Iterator<Map.Entry<Message, T>>() {
+						private RegisteredReactionMessage<T> last;
+
+						@Override
+						public boolean hasNext() {
+							return values.hasNext();
+						}
+
+						@Override
+						public Map.Entry<Message, T> next() {
+							last = values.next();
+							final Message message = last.getMessage();
+							return new AbstractMap.SimpleEntry<Message, T>(message, last.getReactionMessage()) {
+								private static final long serialVersionUID = 1L;
+
+								@Override
+								public T setValue(T value) {
+									super.setValue(value);
+									return RegistryView.this.put(message, value);
+								}
+							};
+						}
+
+						@Override
+						public void remove() {
+							if (last == null)
+								throw new IllegalStateException();
+							registry.remove(last.getMessage().getId().asLong(), last);
+							last = null;
+						}
+					};
+				}
+			};
 		}
 	}
 }
@@ -1,13 +1,13 @@
 package com.mjr.discordframework.reactionMessage;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import com.mjr.discordframework.DiscordBotBase;
 import com.mjr.discordframework.DiscordEventHooks;
+import com.mjr.discordframework.cache.DiscordChannelCache;
 import com.mjr.discordframework.helperManagers.DiscordDeleteMessageManager;
 import com.mjr.discordframework.helperManagers.DiscordSendMessageManager;
+import com.mjr.discordframework.metrics.DiscordMetrics;
 import com.mjr.discordframework.reactionMessage.messageTypes.ReactionEmbeddedMessage;
 import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
 
@@ -15,13 +15,11 @@ import discord4j.core.DiscordClient;
 import discord4j.core.object.entity.Channel;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.MessageChannel;
-import discord4j.core.object.entity.TextChannel;
 import discord4j.core.object.reaction.ReactionEmoji;
 import reactor.core.publisher.Mono;
 
 public class DiscordReactionMsgSendManager {
 
-	private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(20);
 
 	/**
 	 * Send a message with reactions functions to a channel
@@ -46,17 +44,10 @@ public class DiscordReactionMsgSendManager {
 			return null;
 		if (client.isConnected() == false)
 			return null;
-		String message = reactionMessage.getMessage();
-		if (message.length() > 2000)
-			message = message.substring(0, 2000);
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: " + message);
-			Mono<Message> messageReturn = channel.ofType(TextChannel.class).block().createMessage(message).doOnError(error -> {
-				DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Message could not be sent, error: " + error.getMessage());
-			});
-			Message temp = messageReturn.block();
+			Message temp = DiscordSendMessageManager.sendMessage(client, channel, reactionMessage.getMessage());
 			for (String reactionDefault : reactionMessage.getReactions())
-				temp.addReaction(ReactionEmoji.unicode(reactionDefault)).block();
+				DiscordMetrics.time(client, DiscordMetrics.Operation.REACTION_ADD, temp.addReaction(ReactionEmoji.unicode(reactionDefault))).block();
 			botBase.getReactionMessageManager().addReactionMessage(temp, reactionMessage);
 			return temp;
 		} catch (Exception e) {
@@ -91,7 +82,7 @@ public class DiscordReactionMsgSendManager {
 		try {
 			Message temp = DiscordSendMessageManager.sendEmbeddedMessage(client, channel, reactionMessage.getMessage());
 			for (String reactionDefault : reactionMessage.getReactions())
-				temp.addReaction(ReactionEmoji.unicode(reactionDefault)).block();
+				DiscordMetrics.time(client, DiscordMetrics.Operation.REACTION_ADD, temp.addReaction(ReactionEmoji.unicode(reactionDefault))).block();
 			botBase.getReactionMessageManager().addReactionEmbeddedMessage(temp, reactionMessage);
 			return temp;
 		} catch (Exception e) {
@@ -126,12 +117,11 @@ public class DiscordReactionMsgSendManager {
 		if (client.isConnected() == false)
 			return;
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send timed message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Message lastMessage = sendReactionMessage(client, botBase, reactionMessage, channel);
+			Mono<Channel> resolvedChannel = DiscordChannelCache.getCache(client).resolve(channel);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send timed message to Channel: " + resolvedChannel.map(DiscordChannelCache::getDisplayName).block() + " Message: " + reactionMessage.getMessage());
+			Message lastMessage = sendReactionMessage(client, botBase, reactionMessage, resolvedChannel);
 			if (lastMessage != null) {
-				scheduler.schedule(() -> {
-					DiscordDeleteMessageManager.deleteMessage(client, botBase, lastMessage, "Timed Message Delete");
-				}, delay, timeUnit);
+				botBase.getTimedDeleteScheduler().schedule(lastMessage, delay, timeUnit);
 			}
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Timed Message could not be sent, error: " + e.getMessage());
@@ -164,12 +154,11 @@ public class DiscordReactionMsgSendManager {
 		if (client.isConnected() == false)
 			return;
 		try {
-			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, "Attempting to send timed message to Channel: " + channel.ofType(TextChannel.class).block().getName() + " Message: Embedded Message");
-			Message lastMessage = sendReactionEmbeddedMessage(client, botBase, reactionMessage, channel);
+			Mono<Channel> resolvedChannel = DiscordChannelCache.getCache(client).resolve(channel);
+			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Info, () -> "Attempting to send timed message to Channel: " + resolvedChannel.map(DiscordChannelCache::getDisplayName).block() + " Message: Embedded Message");
+			Message lastMessage = sendReactionEmbeddedMessage(client, botBase, reactionMessage, resolvedChannel);
 			if (lastMessage != null) {
-				scheduler.schedule(() -> {
-					DiscordDeleteMessageManager.deleteMessage(client, botBase, lastMessage, "Timed Message Delete");
-				}, delay, timeUnit);
+				botBase.getTimedDeleteScheduler().schedule(lastMessage, delay, timeUnit);
 			}
 		} catch (Exception e) {
 			DiscordEventHooks.triggerMessageEvent(client, DiscordBotBase.DiscordMessageType.Error, "Timed Message could not be sent, error: " + e.getMessage());
@@ -0,0 +1,29 @@
+package com.mjr.discordframework.reactionMessage;
+
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessageBase;
+
+import discord4j.core.object.entity.Message;
+
+/**
+ * Entry held by the {@link DiscordReactionMessageManager}, pairs the sent Discord message with its reaction message handler
+ *
+ * @param <T>
+ */
+public class RegisteredReactionMessage<T extends ReactionMessageBase> {
+	private final Message message;
+	private final T reactionMessage;
+
+	public RegisteredReactionMessage(Message message, T reactionMessage) {
+		super();
+		this.message = message;
+		this.reactionMessage = reactionMessage;
+	}
+
+	public Message getMessage() {
+		return message;
+	}
+
+	public T getReactionMessage() {
+		return reactionMessage;
+	}
+}
@@ -1,35 +1,141 @@
 package com.mjr.discordframework.reactionMessage.handlers;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import com.mjr.discordframework.DiscordBotBase;
-import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessage;
+import com.mjr.discordframework.cache.DiscordUserCache;
+import com.mjr.discordframework.metrics.DiscordMetrics;
+import com.mjr.discordframework.reactionMessage.DiscordReactionMessageManager;
+import com.mjr.discordframework.reactionMessage.RegisteredReactionMessage;
+import com.mjr.discordframework.reactionMessage.messageTypes.ReactionMessageBase;
 
+import discord4j.core.DiscordClient;
 import discord4j.core.event.domain.message.ReactionAddEvent;
 import discord4j.core.event.domain.message.ReactionRemoveEvent;
+import discord4j.core.object.entity.Member;
+import discord4j.core.object.entity.User;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 public class ReactionMessageEventHandler {
-	public static void onMessageReactionAddReceivedEvent(ReactionAddEvent event, DiscordBotBase bot) {
-		if (event.getUser().block().isBot())
-			return;
-		ReactionMessage msg = bot.getReactionMessageManager().getReactionMessageByMessageID(event.getMessageId());
-		if (msg != null) {
-			if (msg.getReactions().contains(event.getEmoji().asUnicodeEmoji().get().toString())) {
-				msg.removeAllReactionsForUser(event.getMessage(), event.getUserId());
-				msg.onAddReaction(event);
-			} else
-				event.getMessage().block().removeReaction(event.getEmoji(), event.getUserId());
-		}
+	/**
+	 * Routes a reaction add event to the bot's reaction message, the message's onAddReaction is called on the coordinator's blocking scheduler
+	 *
+	 * @param event
+	 * @param bot
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionAddReceivedEvent(ReactionAddEvent event, DiscordBotBase bot) {
+		return onMessageReactionAddReceivedEvent(event, bot.getReactionMessageManager(), bot.getCoordinator().getBlockingScheduler());
+	}
+
+	/**
+	 * Routes a reaction add event to the reaction message registered in a manager, the message's onAddReaction is called in place
+	 *
+	 * @param event
+	 * @param manager
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionAddReceivedEvent(ReactionAddEvent event, DiscordReactionMessageManager manager) {
+		return onMessageReactionAddReceivedEvent(event, manager, Schedulers.immediate());
 	}
 
-	public static void onMessageReactionRemoveReceivedEvent(ReactionRemoveEvent event, DiscordBotBase bot) {
-		if (event.getUser().block().isBot())
-			return;
-		ReactionMessage msg = bot.getReactionMessageManager().getReactionMessageByMessageID(event.getMessageId());
-		if (msg != null) {
-			if (msg.getReactions().contains(event.getEmoji().asUnicodeEmoji().get().toString())) {
-				msg.removeAllReactionsForUser(event.getMessage(), event.getUserId());
-				msg.onRemoveReaction(event);
-			} else
-				event.getMessage().block().removeReaction(event.getEmoji(), event.getUserId());
+	/**
+	 * Routes a reaction add event to the reaction message registered in a manager
+	 *
+	 * @param event
+	 * @param manager
+	 * @param callbackScheduler scheduler the message's onAddReaction is called on
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionAddReceivedEvent(ReactionAddEvent event, DiscordReactionMessageManager manager, Scheduler callbackScheduler) {
+		RegisteredReactionMessage<? extends ReactionMessageBase> entry = manager.getRegisteredReactionMessageBase(event.getMessageId().asLong());
+		if (entry == null)
+			return Mono.empty();
+		return isBotUser(manager, event.getClient(), event.getUserId(), event.getMember(), event::getUser).filter(isBot -> !isBot).flatMap(ignored -> {
+			ReactionMessageBase msg = entry.getReactionMessage();
+			if (msg.isReaction(event.getEmoji())) {
+				msg.trackReactionAdded(event.getUserId().asLong(), event.getEmoji().asUnicodeEmoji().get().getRaw());
+				return msg.removeTrackedReactionsForUser(entry.getMessage(), event.getUserId()).then(Mono.fromRunnable(() -> msg.onAddReaction(event)).subscribeOn(callbackScheduler));
+			}
+			return DiscordMetrics.time(event.getClient(), DiscordMetrics.Operation.REACTION_REMOVE, entry.getMessage().removeReaction(event.getEmoji(), event.getUserId()));
+		}).then();
+	}
+
+	/**
+	 * Routes a reaction remove event to the bot's reaction message, the message's onRemoveReaction is called on the coordinator's blocking scheduler
+	 *
+	 * @param event
+	 * @param bot
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionRemoveReceivedEvent(ReactionRemoveEvent event, DiscordBotBase bot) {
+		return onMessageReactionRemoveReceivedEvent(event, bot.getReactionMessageManager(), bot.getCoordinator().getBlockingScheduler());
+	}
+
+	/**
+	 * Routes a reaction remove event to the reaction message registered in a manager, the message's onRemoveReaction is called in place
+	 *
+	 * @param event
+	 * @param manager
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionRemoveReceivedEvent(ReactionRemoveEvent event, DiscordReactionMessageManager manager) {
+		return onMessageReactionRemoveReceivedEvent(event, manager, Schedulers.immediate());
+	}
+
+	/**
+	 * Routes a reaction remove event to the reaction message registered in a manager
+	 *
+	 * @param event
+	 * @param manager
+	 * @param callbackScheduler scheduler the message's onRemoveReaction is called on
+	 * @return
+	 */
+	public static Mono<Void> onMessageReactionRemoveReceivedEvent(ReactionRemoveEvent event, DiscordReactionMessageManager manager, Scheduler callbackScheduler) {
+		RegisteredReactionMessage<? extends ReactionMessageBase> entry = manager.getRegisteredReactionMessageBase(event.getMessageId().asLong());
+		if (entry == null)
+			return Mono.empty();
+		return isBotUser(manager, event.getClient(), event.getUserId(), Optional.empty(), event::getUser).filter(isBot -> !isBot).flatMap(ignored -> {
+			ReactionMessageBase msg = entry.getReactionMessage();
+			if (msg.isReaction(event.getEmoji())) {
+				msg.trackReactionRemoved(event.getUserId().asLong(), event.getEmoji().asUnicodeEmoji().get().getRaw());
+				return msg.removeTrackedReactionsForUser(entry.getMessage(), event.getUserId()).then(Mono.fromRunnable(() -> msg.onRemoveReaction(event)).subscribeOn(callbackScheduler));
+			}
+			return Mono.empty();
+		}).then();
+	}
+
+	/**
+	 * Resolves if a user is a bot, using the cached flag, the bots own id or the event member before falling back to the client's user cache
+	 *
+	 * @param manager
+	 * @param client
+	 * @param userID
+	 * @param member
+	 * @param user
+	 * @return
+	 */
+	private static Mono<Boolean> isBotUser(DiscordReactionMessageManager manager, DiscordClient client, Snowflake userID, Optional<Member> member, Supplier<Mono<User>> user) {
+		Boolean cached = manager.getCachedBotUserFlag(userID.asLong());
+		if (cached != null)
+			return Mono.just(cached);
+		if (client != null && client.getSelfId().map(userID::equals).orElse(false)) {
+			manager.setCachedBotUserFlag(userID.asLong(), true);
+			return Mono.just(true);
+		}
+		if (member.isPresent()) {
+			manager.setCachedBotUserFlag(userID.asLong(), member.get().isBot());
+			if (client != null)
+				DiscordUserCache.getCache(client).put(member.get());
+			return Mono.just(member.get().isBot());
 		}
+		return (client != null ? DiscordUserCache.getCache(client).getUser(userID) : user.get()).map(temp -> {
+			manager.setCachedBotUserFlag(userID.asLong(), temp.isBot());
+			return temp.isBot();
+		});
 	}
 }
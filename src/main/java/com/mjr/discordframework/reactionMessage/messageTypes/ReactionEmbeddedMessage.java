@@ -7,7 +7,6 @@ import java.util.function.Consumer;
 import discord4j.core.event.domain.message.ReactionAddEvent;
 import discord4j.core.event.domain.message.ReactionRemoveEvent;
 import discord4j.core.object.entity.Message;
-import discord4j.core.object.reaction.ReactionEmoji;
 import discord4j.core.object.util.Snowflake;
 import discord4j.core.spec.EmbedCreateSpec;
 import reactor.core.publisher.Mono;
@@ -33,6 +32,7 @@ public class ReactionEmbeddedMessage extends ReactionMessageBase {
 		this.message = message;
 	}
 
+	@Override
 	public List<String> getReactions() {
 		return reactions;
 	}
@@ -50,8 +50,7 @@ public class ReactionEmbeddedMessage extends ReactionMessageBase {
 	}
 
 	public void removeAllReactionsForUser(Mono<Message> message, Snowflake user) {
-		for (String reactionDefault : this.getReactions())
-			message.block().removeReaction(ReactionEmoji.unicode(reactionDefault), user).block();
+		removeAllReactionsForUser(message.block(), user).block();
 	}
 
 	@Override
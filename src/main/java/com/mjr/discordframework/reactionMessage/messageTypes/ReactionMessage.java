@@ -6,7 +6,6 @@ import java.util.List;
 import discord4j.core.event.domain.message.ReactionAddEvent;
 import discord4j.core.event.domain.message.ReactionRemoveEvent;
 import discord4j.core.object.entity.Message;
-import discord4j.core.object.reaction.ReactionEmoji;
 import discord4j.core.object.util.Snowflake;
 import reactor.core.publisher.Mono;
 
@@ -31,6 +30,7 @@ public class ReactionMessage extends ReactionMessageBase {
 		this.message = message;
 	}
 
+	@Override
 	public List<String> getReactions() {
 		return reactions;
 	}
@@ -48,8 +48,7 @@ public class ReactionMessage extends ReactionMessageBase {
 	}
 
 	public void removeAllReactionsForUser(Mono<Message> message, Snowflake user) {
-		for (String reactionDefault : this.getReactions())
-			message.block().removeReaction(ReactionEmoji.unicode(reactionDefault), user).block();
+		removeAllReactionsForUser(message.block(), user).block();
 	}
 
 	@Override
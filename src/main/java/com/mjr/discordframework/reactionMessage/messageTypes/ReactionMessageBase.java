@@ -1,10 +1,142 @@
 package com.mjr.discordframework.reactionMessage.messageTypes;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import com.mjr.discordframework.metrics.DiscordMetrics;
+
 import discord4j.core.event.domain.message.ReactionAddEvent;
 import discord4j.core.event.domain.message.ReactionRemoveEvent;
+import discord4j.core.object.entity.Message;
+import discord4j.core.object.reaction.ReactionEmoji;
+import discord4j.core.object.util.Snowflake;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public abstract class ReactionMessageBase {
+	public static final int DEFAULT_MAX_CONCURRENT_REMOVALS = 4;
+
+	/**
+	 * Reactions each user currently holds on the message, as seen through the reaction add/remove events. The sets are replaced rather than changed so the map's compute retries
+	 * can't lose an update
+	 */
+	private final NonBlockingHashMapLong<Set<String>> userReactions = new NonBlockingHashMapLong<Set<String>>();
+	private int maxConcurrentRemovals = DEFAULT_MAX_CONCURRENT_REMOVALS;
+
+	/**
+	 * Gets the reactions this message responds to, subclasses that react to emoji should override this
+	 *
+	 * @return empty by default
+	 */
+	public List<String> getReactions() {
+		return Collections.emptyList();
+	}
+
 	public abstract void onAddReaction(ReactionAddEvent event);
 
 	public abstract void onRemoveReaction(ReactionRemoveEvent event);
+
+	/**
+	 * Checks if the emoji is one of the reactions this message responds to
+	 *
+	 * @param emoji
+	 * @return
+	 */
+	public boolean isReaction(ReactionEmoji emoji) {
+		return emoji.asUnicodeEmoji().map(unicode -> this.getReactions().contains(unicode.getRaw())).orElse(false);
+	}
+
+	/**
+	 * Records that a user has added a reaction to the message
+	 *
+	 * @param user
+	 * @param reaction
+	 */
+	public void trackReactionAdded(long user, String reaction) {
+		userReactions.compute(user, (key, reactions) -> {
+			if (reactions != null && reactions.contains(reaction))
+				return reactions;
+			Set<String> updated = reactions == null ? new HashSet<String>() : new HashSet<String>(reactions);
+			updated.add(reaction);
+			return Collections.unmodifiableSet(updated);
+		});
+	}
+
+	/**
+	 * Records that a reaction from a user has been removed from the message
+	 *
+	 * @param user
+	 * @param reaction
+	 */
+	public void trackReactionRemoved(long user, String reaction) {
+		userReactions.computeIfPresent(user, (key, reactions) -> {
+			if (!reactions.contains(reaction))
+				return reactions;
+			Set<String> updated = new HashSet<String>(reactions);
+			updated.remove(reaction);
+			return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+		});
+	}
+
+	/**
+	 * Gets a snapshot of the reactions a user currently holds on the message
+	 *
+	 * @param user
+	 * @return
+	 */
+	public List<String> getTrackedReactions(long user) {
+		Set<String> reactions = userReactions.get(user);
+		if (reactions == null)
+			return Collections.emptyList();
+		return new ArrayList<String>(reactions);
+	}
+
+	public int getMaxConcurrentRemovals() {
+		return maxConcurrentRemovals;
+	}
+
+	/**
+	 * Sets how many reaction removals can be in flight at once for a single user
+	 *
+	 * @param maxConcurrentRemovals
+	 */
+	public void setMaxConcurrentRemovals(int maxConcurrentRemovals) {
+		this.maxConcurrentRemovals = Math.max(1, maxConcurrentRemovals);
+	}
+
+	/**
+	 * Remove every reaction this message responds to from a user, without blocking. Each reaction is removed whether or not it was tracked, so reactions added before a restart
+	 * are removed too. The removals run concurrently up to the max concurrent removals limit
+	 *
+	 * @param message
+	 * @param user
+	 * @return
+	 */
+	public Mono<Void> removeAllReactionsForUser(Message message, Snowflake user) {
+		return removeReactionsForUser(message, user, getReactions());
+	}
+
+	/**
+	 * Remove only the reactions a user is known to hold on a message, without blocking. Reactions that were never seen through the reaction events, such as ones added before a
+	 * restart, are left alone
+	 *
+	 * @param message
+	 * @param user
+	 * @return
+	 */
+	public Mono<Void> removeTrackedReactionsForUser(Message message, Snowflake user) {
+		List<String> held = getTrackedReactions(user.asLong());
+		if (held.isEmpty())
+			return Mono.empty();
+		return removeReactionsForUser(message, user, held);
+	}
+
+	private Mono<Void> removeReactionsForUser(Message message, Snowflake user, List<String> reactions) {
+		return Flux.fromIterable(reactions).flatMap(reaction -> DiscordMetrics.time(message.getClient(), DiscordMetrics.Operation.REACTION_REMOVE, message.removeReaction(ReactionEmoji.unicode(reaction), user)).doOnSuccess(ignored -> trackReactionRemoved(user.asLong(), reaction)), this.maxConcurrentRemovals).then();
+	}
 }
@@ -2,6 +2,13 @@ package com.mjr.discordframework.util;
 
 import java.util.Optional;
 
+import com.mjr.discordframework.DiscordBotBase;
+import com.mjr.discordframework.cache.DiscordChannelCache;
+import com.mjr.discordframework.cache.DiscordMessageCache;
+import com.mjr.discordframework.cache.DiscordDisplayNameCache;
+import com.mjr.discordframework.cache.DiscordRoleIndex;
+import com.mjr.discordframework.cache.DiscordUserCache;
+
 import discord4j.core.DiscordClient;
 import discord4j.core.object.entity.Channel;
 import discord4j.core.object.entity.Guild;
@@ -17,18 +24,54 @@ public class DiscordBotUtilities {
 	/**
 	 * @param name
 	 * @param guild
-	 * @return
+	 * @return null if the guild has no role with that name
 	 */
 	public static Snowflake getRoleIDByName(String name, Mono<Guild> guild) {
-		return guild.block().getRoles().filter(role -> role.getName().equalsIgnoreCase(name)).blockFirst().getId();
+		Guild temp = guild.block();
+		return getRoleIDByName(temp.getClient(), temp.getId(), name).orElse(null);
+	}
+
+	/**
+	 * Gets the id of a role by its name, ignoring case, from the guild's role index. Only blocks the first time a guild's roles are looked up
+	 *
+	 * @param guildID
+	 * @param name
+	 * @return
+	 */
+	public static Optional<Snowflake> getRoleIDByName(DiscordClient client, Snowflake guildID, String name) {
+		return DiscordRoleIndex.getIndex(getClientForGuild(client, guildID)).getRoleIDNow(guildID, name);
 	}
 
 	/**
+	 * Gets the id of a role by its name, ignoring case, from the guild's role index
+	 *
+	 * @param guildID
+	 * @param name
+	 * @return empty if the guild has no role with that name
+	 */
+	public static Mono<Snowflake> getRoleIDByNameAsync(DiscordClient client, Snowflake guildID, String name) {
+		return DiscordRoleIndex.getIndex(getClientForGuild(client, guildID)).getRoleID(guildID, name);
+	}
+
+	/**
+	 * Gets a user through the client's user cache, only fetching users that are not cached
+	 *
 	 * @param messageID
 	 * @return
 	 */
 	public static Mono<User> getUserByMemberID(DiscordClient client, Snowflake messageID) {
-		return client.getUserById(messageID);
+		return DiscordUserCache.getCache(client).getUser(messageID);
+	}
+
+	/**
+	 * Gets a member through the user cache of the shard that owns the guild, only fetching members that are not cached
+	 *
+	 * @param guildID
+	 * @param memberID
+	 * @return
+	 */
+	public static Mono<Member> getMemberByID(DiscordClient client, Snowflake guildID, Snowflake memberID) {
+		return DiscordUserCache.getCache(getClientForGuild(client, guildID)).getMember(guildID, memberID);
 	}
 
 	/**
@@ -52,7 +95,7 @@ public class DiscordBotUtilities {
 	 * @return
 	 */
 	public static String getUserDisplayNameWithoutEmotes(Optional<Member> member) {
-		return getUserDisplayNameWithEmotes(member).replaceAll("[^a-zA-Z0-9_]", "");
+		return getUserDisplayNameWithoutEmotes(member.get());
 	}
 
 	/**
@@ -64,11 +107,17 @@ public class DiscordBotUtilities {
 	}
 
 	/**
+	 * Gets the display name of a member with everything but a-z, A-Z, 0-9 and _ removed, the result is cached per member until the member changes, see
+	 * {@link DiscordDisplayNameCache#setMode} for keeping accented letters
+	 *
 	 * @param member
 	 * @return
 	 */
 	public static String getUserDisplayNameWithoutEmotes(Member member) {
-		return getUserDisplayNameWithEmotes(member).replaceAll("[^a-zA-Z0-9_]", "");
+		DiscordClient client = member.getClient();
+		if (client == null)
+			return DiscordNameSanitizer.sanitizeAscii(getUserDisplayNameWithEmotes(member));
+		return DiscordDisplayNameCache.getCache(client).getDisplayNameWithoutEmotes(member);
 	}
 
 	/**
@@ -79,12 +128,32 @@ public class DiscordBotUtilities {
 		return member.getDisplayName();
 	}
 
+	/**
+	 * Gets the client of the shard that owns a guild, falls back to the client given for bots that are not sharded or guilds on a shard run by another process
+	 *
+	 * @param guildID
+	 * @return
+	 */
+	public static DiscordClient getClientForGuild(DiscordClient client, Snowflake guildID) {
+		DiscordBotBase bot = DiscordBotBase.getBot(client);
+		DiscordClient shardClient = bot == null ? null : bot.getClientForGuild(guildID);
+		return shardClient != null ? shardClient : client;
+	}
+
+	/**
+	 * @param guildID
+	 * @return
+	 */
+	public static Mono<Guild> getGuildByID(DiscordClient client, Snowflake guildID) {
+		return getClientForGuild(client, guildID).getGuildById(guildID);
+	}
+
 	/**
 	 * @param channelID
 	 * @return
 	 */
 	public static Mono<Channel> getChannelByID(DiscordClient client, Snowflake channelID) {
-		return client.getChannelById(channelID);
+		return DiscordChannelCache.getCache(client).getChannel(channelID);
 	}
 	
 	/**
@@ -92,7 +161,7 @@ public class DiscordBotUtilities {
 	 * @return
 	 */
 	public static Mono<TextChannel> getTextChannelByID(DiscordClient client, Snowflake channelID) {
-		return client.getChannelById(channelID).ofType(TextChannel.class);
+		return DiscordChannelCache.getCache(client).getChannel(channelID).ofType(TextChannel.class);
 	}
 	
 	/**
@@ -100,7 +169,7 @@ public class DiscordBotUtilities {
 	 * @return
 	 */
 	public static Mono<MessageChannel> getMessageChannelByID(DiscordClient client, Snowflake channelID) {
-		return client.getChannelById(channelID).ofType(MessageChannel.class);
+		return DiscordChannelCache.getCache(client).getChannel(channelID).ofType(MessageChannel.class);
 	}
 
 
@@ -114,12 +183,14 @@ public class DiscordBotUtilities {
 	}
 
 	/**
+	 * Gets a message, messages sent through the framework are taken from the client's message cache instead of being fetched
+	 *
 	 * @param channel
 	 * @param messageID
 	 * @return
 	 */
 	public static Mono<Message> getMessageByMessageID(DiscordClient client, Snowflake channel, Snowflake messageID) {
-		return client.getMessageById(channel, messageID);
+		return DiscordMessageCache.getCache(client).getMessage(channel, messageID);
 	}
 
 	/**
@@ -137,6 +208,6 @@ public class DiscordBotUtilities {
 	 * @return
 	 */
 	public static Mono<Message> getMessageByMessageID(DiscordClient client, Snowflake channel, Long messageID) {
-		return client.getMessageById(channel, Snowflake.of(messageID));
+		return getMessageByMessageID(client, channel, Snowflake.of(messageID));
 	}
 }
@@ -0,0 +1,94 @@
+package com.mjr.discordframework.util;
+
+import java.text.Normalizer;
+
+/**
+ * Strips emotes, symbols and spaces from names in a single pass without regex
+ */
+public class DiscordNameSanitizer {
+
+	public enum Mode {
+		/**
+		 * Only keeps a-z, A-Z, 0-9 and _, the same as the old replaceAll("[^a-zA-Z0-9_]", "")
+		 */
+		ASCII,
+		/**
+		 * Normalizes the name first so accented and full width letters become their plain form, then keeps any letter, digit or _
+		 */
+		UNICODE
+	}
+
+	private static final boolean[] ALLOWED = new boolean[128];
+
+	static {
+		for (char c = 'a'; c <= 'z'; c++)
+			ALLOWED[c] = true;
+		for (char c = 'A'; c <= 'Z'; c++)
+			ALLOWED[c] = true;
+		for (char c = '0'; c <= '9'; c++)
+			ALLOWED[c] = true;
+		ALLOWED['_'] = true;
+	}
+
+	/**
+	 * @param name
+	 * @param mode
+	 * @return
+	 */
+	public static String sanitize(String name, Mode mode) {
+		return mode == Mode.UNICODE ? sanitizeUnicode(name) : sanitizeAscii(name);
+	}
+
+	/**
+	 * Keeps a-z, A-Z, 0-9 and _, returns the name itself when it has nothing to strip
+	 *
+	 * @param name
+	 * @return
+	 */
+	public static String sanitizeAscii(String name) {
+		int length = name.length();
+		int i = firstDisallowed(name);
+		if (i == length)
+			return name;
+		char[] result = new char[length - 1];
+		name.getChars(0, i, result, 0);
+		int size = i;
+		for (i++; i < length; i++) {
+			char c = name.charAt(i);
+			if (isAllowed(c))
+				result[size++] = c;
+		}
+		return new String(result, 0, size);
+	}
+
+	/**
+	 * Normalizes the name and keeps any letter, digit or _, so accents are dropped from letters instead of dropping the letter
+	 *
+	 * @param name
+	 * @return
+	 */
+	public static String sanitizeUnicode(String name) {
+		if (firstDisallowed(name) == name.length())
+			return name;
+		String normalized = Normalizer.normalize(name, Normalizer.Form.NFKD);
+		StringBuilder result = new StringBuilder(normalized.length());
+		for (int i = 0; i < normalized.length();) {
+			int codePoint = normalized.codePointAt(i);
+			if (codePoint < 128 ? ALLOWED[codePoint] : Character.isLetterOrDigit(codePoint))
+				result.appendCodePoint(codePoint);
+			i += Character.charCount(codePoint);
+		}
+		return result.toString();
+	}
+
+	public static boolean isAllowed(char c) {
+		return c < 128 && ALLOWED[c];
+	}
+
+	private static int firstDisallowed(String name) {
+		int i = 0;
+		while (i < name.length() && isAllowed(name.charAt(i)))
+			i++;
+		return i;
+	}
+}